@@ -0,0 +1,132 @@
+package com.microshop.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microshop.product.ProductServiceApplication;
+import com.microshop.product.dto.ProductRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class ProductEndToEndBenchmark {
+    @Param("10000")
+    private int catalogSize;
+
+    private final AtomicLong skuSequence = new AtomicLong();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private URI productsUri;
+    private List<Map<String, Object>> catalog;
+
+    @Setup(Level.Trial)
+    public void startService() throws Exception {
+        postgres = new PostgreSQLContainer<>("postgres:18-alpine");
+        postgres.start();
+
+        // Command-line arguments, unlike builder default properties, take precedence over application.yml
+        context = new SpringApplicationBuilder(ProductServiceApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"
+        );
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        productsUri = URI.create("http://localhost:" + port + "/api/v1/products");
+        httpClient = HttpClient.newHttpClient();
+
+        String feed = IntStream.rangeClosed(1, catalogSize)
+                .mapToObj(index -> toJson(ProductFixtures.request(index)))
+                .collect(Collectors.joining("\n"));
+        send(HttpRequest.newBuilder(URI.create(productsUri + "/import"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(feed)));
+
+        catalog = context.getBean(JdbcTemplate.class).queryForList("SELECT id, name, sku FROM products ORDER BY id");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopService() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public int getProductById() throws Exception {
+        Map<String, Object> product = randomProduct();
+        return send(HttpRequest.newBuilder(URI.create(productsUri + "/" + product.get("id"))).GET());
+    }
+
+    @Benchmark
+    public int searchProductsByName() throws Exception {
+        int term = ThreadLocalRandom.current().nextInt(1, 1000);
+        return send(HttpRequest.newBuilder(URI.create(productsUri + "?name=product%20" + term + "&size=20")).GET());
+    }
+
+    @Benchmark
+    public int createProduct() throws Exception {
+        ProductRequest request = new ProductRequest("Created product", "Created during benchmark",
+                new BigDecimal("19.99"), "BENCH-NEW-" + skuSequence.incrementAndGet());
+        return send(HttpRequest.newBuilder(productsUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(request))));
+    }
+
+    @Benchmark
+    public int updateProduct() throws Exception {
+        Map<String, Object> product = randomProduct();
+        BigDecimal price = BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(100, 100_000), 2);
+        ProductRequest request = new ProductRequest((String) product.get("name"), "Updated during benchmark", price, (String) product.get("sku"));
+        return send(HttpRequest.newBuilder(URI.create(productsUri + "/" + product.get("id")))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(toJson(request))));
+    }
+
+    private Map<String, Object> randomProduct() {
+        return catalog.get(ThreadLocalRandom.current().nextInt(catalog.size()));
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " from " + response.uri());
+        }
+        return response.statusCode();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.microshop.benchmarks;
+
+import com.microshop.product.dto.ProductRequest;
+import com.microshop.product.entity.Product;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public final class ProductFixtures {
+    private ProductFixtures() {
+    }
+
+    public static ProductRequest request(int index) {
+        return new ProductRequest(
+                "Product " + index,
+                "Description of product " + index + " with enough text to resemble a real catalog entry",
+                BigDecimal.valueOf(1000 + index, 2),
+                "BENCH-" + index
+        );
+    }
+
+    public static Product product(int index) {
+        ProductRequest request = request(index);
+        return Product.builder()
+                .id((long) index)
+                .name(request.name())
+                .description(request.description())
+                .price(request.price())
+                .sku(request.sku())
+                .version(0L)
+                .build();
+    }
+
+    public static List<Product> products(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(ProductFixtures::product).toList();
+    }
+}
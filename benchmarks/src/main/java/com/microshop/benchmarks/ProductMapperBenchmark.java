@@ -0,0 +1,45 @@
+package com.microshop.benchmarks;
+
+import com.microshop.product.dto.ProductRequest;
+import com.microshop.product.dto.ProductResponse;
+import com.microshop.product.entity.Product;
+import com.microshop.product.mapper.ProductMapper;
+import com.microshop.product.mapper.ProductMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+    private final ProductMapper mapper = new ProductMapperImpl();
+
+    private ProductRequest request;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        request = ProductFixtures.request(42);
+        product = ProductFixtures.product(7);
+    }
+
+    @Benchmark
+    public Product mapToProduct() {
+        return mapper.mapToProduct(request);
+    }
+
+    @Benchmark
+    public ProductResponse mapToProductResponse() {
+        return mapper.mapToProductResponse(product);
+    }
+
+    @Benchmark
+    public Product updateProductFromRequest() {
+        mapper.updateProductFromRequest(request, product);
+        return product;
+    }
+}
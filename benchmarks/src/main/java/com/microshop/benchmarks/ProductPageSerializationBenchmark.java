@@ -0,0 +1,56 @@
+package com.microshop.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microshop.product.dto.ProductResponse;
+import com.microshop.product.entity.Product;
+import com.microshop.product.mapper.ProductMapper;
+import com.microshop.product.mapper.ProductMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductPageSerializationBenchmark {
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private final ProductMapper mapper = new ProductMapperImpl();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Page<Product> products;
+    private Page<ProductResponse> responses;
+
+    @Setup
+    public void setUp() {
+        PageRequest pageRequest = PageRequest.of(0, pageSize, Sort.by("id"));
+        products = new PageImpl<>(ProductFixtures.products(pageSize), pageRequest, 10_000);
+        responses = products.map(mapper::mapToProductResponse);
+    }
+
+    @Benchmark
+    public Page<ProductResponse> mapPage() {
+        return products.map(mapper::mapToProductResponse);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new PagedModel<>(responses));
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new PagedModel<>(products.map(mapper::mapToProductResponse)));
+    }
+}
@@ -0,0 +1,71 @@
+package com.microshop.benchmarks;
+
+import com.microshop.product.entity.Product;
+import com.microshop.product.spec.ProductSpecifications;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSpecificationsBenchmark {
+    private final ProductSpecifications specifications = new ProductSpecifications();
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+
+    @Setup
+    public void setUp() {
+        // Metadata only: the dialect is fixed and no JDBC connection is ever opened
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Product.class)
+                .setProperty("hibernate.dialect", PostgreSQLDialect.class.getName())
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Specification<Product> buildSpecification() {
+        return specifications.getSpecification("laptop", new BigDecimal("100.00"), "16gb", null);
+    }
+
+    @Benchmark
+    public Predicate buildSearchPredicate() {
+        return toPredicate(specifications.getSpecification("laptop", new BigDecimal("100.00"), "16gb", null));
+    }
+
+    @Benchmark
+    public Predicate buildRelevancePredicate() {
+        return toPredicate(specifications.getSpecification("laptop", null, "16gb", null, true));
+    }
+
+    @Benchmark
+    public Predicate buildSkuPredicate() {
+        return toPredicate(specifications.getSpecification(null, null, null, "BENCH-42"));
+    }
+
+    private Predicate toPredicate(Specification<Product> specification) {
+        CriteriaQuery<Product> query = criteriaBuilder.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+        return specification.toPredicate(root, query, criteriaBuilder);
+    }
+}
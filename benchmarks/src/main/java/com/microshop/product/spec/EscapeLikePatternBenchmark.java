@@ -0,0 +1,23 @@
+package com.microshop.product.spec;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EscapeLikePatternBenchmark {
+    @Param({"wireless mouse", "100%_cotton\\shirt"})
+    private String input;
+
+    private final ProductSpecifications specifications = new ProductSpecifications();
+
+    @Benchmark
+    public String escapeLikePattern() {
+        return specifications.escapeLikePattern(input);
+    }
+}
@@ -0,0 +1,21 @@
+#!/bin/bash
+# Clones the primary on first start, then runs as a hot standby streaming from it
+set -euo pipefail
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    until pg_isready --host "$PRIMARY_HOST" --username "$REPLICATION_USER" --quiet; do
+        echo "Waiting for $PRIMARY_HOST"
+        sleep 1
+    done
+
+    # --write-recovery-conf adds standby.signal and primary_conninfo, so the copy starts as a replica
+    PGPASSWORD="$REPLICATION_PASSWORD" pg_basebackup \
+        --host "$PRIMARY_HOST" \
+        --username "$REPLICATION_USER" \
+        --pgdata "$PGDATA" \
+        --wal-method stream \
+        --write-recovery-conf
+    chmod 700 "$PGDATA"
+fi
+
+exec postgres -c hot_standby=on
\ No newline at end of file
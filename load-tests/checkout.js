@@ -0,0 +1,43 @@
+// Checkout spike against product-service and order-service; compare default and virtual-thread mode with e.g.
+//   k6 run -e VUS=400 load-tests/checkout.js
+// after starting both services with and without --spring.profiles.active=virtual-threads
+import http from 'k6/http';
+import { check } from 'k6';
+
+const PRODUCT_URL = __ENV.PRODUCT_URL || 'http://localhost:8081';
+const ORDER_URL = __ENV.ORDER_URL || 'http://localhost:8082';
+const PRODUCT_IDS = (__ENV.PRODUCT_IDS || '2,3,4,5,6,7,8,9,10,11').split(',').map(Number);
+
+export const options = {
+    scenarios: {
+        checkout: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 400),
+            duration: __ENV.DURATION || '60s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+    const customerId = `load-${__VU}`;
+    const productId = PRODUCT_IDS[Math.floor(Math.random() * PRODUCT_IDS.length)];
+
+    const product = http.get(`${PRODUCT_URL}/api/v1/products/${productId}`, { tags: { name: 'product' } });
+    check(product, { 'product 200': (r) => r.status === 200 });
+
+    const order = http.post(`${ORDER_URL}/api/v1/orders`, JSON.stringify({ items: [{ productId, quantity: 1 }] }), {
+        headers: { 'Content-Type': 'application/json', 'X-Customer-Id': customerId },
+        tags: { name: 'create-order' },
+    });
+    check(order, { 'order 201': (r) => r.status === 201 });
+
+    const history = http.get(`${ORDER_URL}/api/v1/orders?size=20`, {
+        headers: { 'X-Customer-Id': customerId },
+        tags: { name: 'order-history' },
+    });
+    check(history, { 'history 200': (r) => r.status === 200 });
+}
\ No newline at end of file
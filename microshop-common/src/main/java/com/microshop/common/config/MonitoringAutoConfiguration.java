@@ -0,0 +1,33 @@
+package com.microshop.common.config;
+
+import com.microshop.common.monitoring.MethodMetricsPostProcessor;
+import com.microshop.common.monitoring.PinnedVirtualThreadMonitor;
+import com.microshop.common.monitoring.SqlStatementDataSourcePostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration
+@EnableConfigurationProperties({SqlBudgetProperties.class, VirtualThreadProperties.class})
+public class MonitoringAutoConfiguration {
+    // Post-processors are declared static, so registering them does not create this configuration before the beans they process
+    @Bean
+    static MethodMetricsPostProcessor methodMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<SqlBudgetProperties> sqlBudget) {
+        return new MethodMetricsPostProcessor(meterRegistry, sqlBudget);
+    }
+
+    @Bean
+    static SqlStatementDataSourcePostProcessor sqlStatementDataSourcePostProcessor() {
+        return new SqlStatementDataSourcePostProcessor();
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    PinnedVirtualThreadMonitor pinnedVirtualThreadMonitor(VirtualThreadProperties properties, MeterRegistry meterRegistry) {
+        return new PinnedVirtualThreadMonitor(properties, meterRegistry);
+    }
+}
\ No newline at end of file
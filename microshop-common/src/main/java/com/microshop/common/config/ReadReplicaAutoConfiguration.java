@@ -0,0 +1,43 @@
+package com.microshop.common.config;
+
+import com.microshop.common.datasource.ReadReplicaDataSourcePostProcessor;
+import com.microshop.common.datasource.ReadReplicas;
+import com.microshop.common.datasource.ReadYourWrites;
+import com.microshop.common.datasource.ReadYourWritesFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+// The beans exist even without replicas configured; the post-processor and the filter then leave the primary untouched
+@AutoConfiguration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaAutoConfiguration {
+    @Bean
+    ReadReplicas readReplicas(ReadReplicaProperties properties) {
+        return new ReadReplicas(properties);
+    }
+
+    @Bean
+    ReadYourWrites readYourWrites(ReadReplicaProperties properties) {
+        return new ReadYourWrites(properties);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    ReadYourWritesFilter readYourWritesFilter(ReadYourWrites readYourWrites, ReadReplicaProperties properties) {
+        return new ReadYourWritesFilter(readYourWrites, properties);
+    }
+
+    @Bean
+    static ReadReplicaDataSourcePostProcessor readReplicaDataSourcePostProcessor(
+            ObjectProvider<ReadReplicaProperties> properties,
+            ObjectProvider<ReadReplicas> replicas,
+            ObjectProvider<ReadYourWrites> readYourWrites,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new ReadReplicaDataSourcePostProcessor(properties, replicas, readYourWrites, meterRegistry);
+    }
+}
\ No newline at end of file
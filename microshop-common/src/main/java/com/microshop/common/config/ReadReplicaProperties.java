@@ -0,0 +1,34 @@
+package com.microshop.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+// Replica pools copy the primary's Hikari settings; username and password fall back to the primary's when not set
+@ConfigurationProperties(prefix = "microshop.read-replicas")
+public record ReadReplicaProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("1s") Duration connectionTimeout,
+        @DefaultValue("5s") Duration healthCheckInterval,
+        @DefaultValue("2s") Duration maxLag,
+        @DefaultValue("10s") Duration stickyWindow,
+        @DefaultValue({"X-Customer-Id", "X-Session-Id"}) List<String> stickyKeyHeaders,
+        @DefaultValue("100000") long maxStickyKeys
+) {
+    // A replica may pass a check just under max-lag and keep falling behind until the next one, so a shorter window
+    // lets a client's read reach a replica that has not replayed its write yet
+    public ReadReplicaProperties {
+        if (!replicas.isEmpty() && stickyWindow.compareTo(maxLag.plus(healthCheckInterval)) < 0) {
+            throw new IllegalArgumentException("sticky-window (" + stickyWindow + ") must cover max-lag (" + maxLag
+                    + ") plus health-check-interval (" + healthCheckInterval + ")");
+        }
+    }
+
+    public boolean enabled() {
+        return !replicas.isEmpty();
+    }
+
+    public record Replica(String url, String username, String password) {}
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.microshop.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+// Budgets are keyed by "SimpleClassName.method" of a controller or @Transactional service method; 0 means no budget
+@ConfigurationProperties(prefix = "microshop.sql-budget")
+public record SqlBudgetProperties(
+        @DefaultValue("LOG") Action action,
+        @DefaultValue("0") int defaultStatements,
+        @DefaultValue Map<String, Integer> statements
+) {
+    public int budget(String method) {
+        return statements.getOrDefault(method, defaultStatements);
+    }
+
+    public enum Action {
+        LOG,
+        FAIL
+    }
+}
\ No newline at end of file
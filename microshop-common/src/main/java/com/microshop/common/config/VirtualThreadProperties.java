@@ -0,0 +1,12 @@
+package com.microshop.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "microshop.virtual-threads")
+public record VirtualThreadProperties(
+        @DefaultValue("20ms") Duration pinnedThreshold,
+        @DefaultValue("8") int pinnedStackDepth
+) {}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.microshop.common.datasource;
+
+import com.microshop.common.config.ReadReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+public class ReadReplicaDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+    // Resolved lazily, once the data source is created, like the other post-processors' collaborators
+    private final ObjectProvider<ReadReplicaProperties> properties;
+    private final ObjectProvider<ReadReplicas> replicas;
+    private final ObjectProvider<ReadYourWrites> readYourWrites;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ReadReplicaDataSourcePostProcessor(ObjectProvider<ReadReplicaProperties> properties, ObjectProvider<ReadReplicas> replicas,
+                                              ObjectProvider<ReadYourWrites> readYourWrites, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Runs before SqlStatementDataSourcePostProcessor, so statements served by replicas are counted too
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    // The connection is only fetched at the first statement, by which time the transaction's read-only flag is set
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource primary && properties.getObject().enabled()) {
+            ReadReplicas readReplicas = replicas.getObject();
+            readReplicas.connect(primary, meterRegistry.getObject());
+            return new LazyConnectionDataSourceProxy(
+                    new ReadReplicaRoutingDataSource(primary, readReplicas, readYourWrites.getObject(), meterRegistry.getObject())
+            );
+        }
+        return bean;
+    }
+}
\ No newline at end of file
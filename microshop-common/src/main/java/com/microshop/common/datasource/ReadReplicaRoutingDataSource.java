@@ -0,0 +1,80 @@
+package com.microshop.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+// The target stays the primary, so anything unwrapping this data source (pool metrics, Flyway) still sees the primary pool.
+// It must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only known once the transaction has begun
+public class ReadReplicaRoutingDataSource extends DelegatingDataSource {
+    private final ReadReplicas replicas;
+    private final ReadYourWrites readYourWrites;
+    private final Map<Route, Counter> routed = new EnumMap<>(Route.class);
+
+    public ReadReplicaRoutingDataSource(DataSource primary, ReadReplicas replicas, ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        super(primary);
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+        for (Route route : Route.values()) {
+            routed.put(route, Counter.builder("datasource.connections.routed")
+                    .description("Connections handed out, by the data source that served them and why")
+                    .tag("target", route.target)
+                    .tag("reason", route.reason)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.recordWrite();
+            return primary(Route.READ_WRITE);
+        }
+        if (readYourWrites.requiresPrimary()) {
+            return primary(Route.STICKY);
+        }
+
+        Optional<Connection> replica = replicas.connection();
+        if (replica.isEmpty()) {
+            return primary(Route.NO_REPLICA);
+        }
+        routed.get(Route.REPLICA).increment();
+        return replica.get();
+    }
+
+    // Explicit credentials are accounts on the primary
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        readYourWrites.recordWrite();
+        routed.get(Route.READ_WRITE).increment();
+        return obtainTargetDataSource().getConnection(username, password);
+    }
+
+    private Connection primary(Route route) throws SQLException {
+        routed.get(route).increment();
+        return obtainTargetDataSource().getConnection();
+    }
+
+    private enum Route {
+        READ_WRITE("primary", "read-write"),
+        STICKY("primary", "read-your-writes"),
+        NO_REPLICA("primary", "no-healthy-replica"),
+        REPLICA("replica", "read-only");
+
+        private final String target;
+        private final String reason;
+
+        Route(String target, String reason) {
+            this.target = target;
+            this.reason = reason;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.microshop.common.datasource;
+
+import com.microshop.common.config.ReadReplicaProperties;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ReadReplicas implements DisposableBean {
+    private static final String PRIMARY_POSITION_QUERY = "SELECT pg_current_wal_lsn()";
+
+    // Only a standby still streaming from the primary can serve its reads: a promoted node takes writes of its own, and
+    // a standby whose WAL receiver dropped stops advancing without any lag showing in its own positions. One that has
+    // replayed up to the primary's position is caught up, even though its last replay timestamp stops moving while the
+    // primary is idle; otherwise the age of its last replayed transaction is its lag. The WAL receiver status is only
+    // visible to superusers and roles with pg_read_all_stats
+    private static final String LAG_QUERY = """
+            SELECT pg_is_in_recovery() AS standby,
+                   coalesce((SELECT status = 'streaming' FROM pg_stat_wal_receiver), false) AS streaming,
+                   coalesce(pg_last_wal_replay_lsn() >= ?::pg_lsn, false) AS caught_up,
+                   extract(epoch FROM now() - pg_last_xact_replay_timestamp()) AS lag_seconds
+            """;
+
+    private final ReadReplicaProperties properties;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile HikariDataSource primary;
+    private volatile List<Replica> replicas = List.of();
+
+    public ReadReplicas(ReadReplicaProperties properties) {
+        this.properties = properties;
+    }
+
+    // Called once the primary pool is configured; replicas start unhealthy, so reads stay on the primary until the first check
+    public synchronized void connect(HikariDataSource primary, MeterRegistry meterRegistry) {
+        if (!replicas.isEmpty()) {
+            return;
+        }
+
+        List<Replica> pools = new ArrayList<>();
+        for (ReadReplicaProperties.Replica replica : properties.replicas()) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setPoolName("replica-" + pools.size());
+            config.setJdbcUrl(replica.url());
+            if (replica.username() != null) {
+                config.setUsername(replica.username());
+                config.setPassword(replica.password());
+            }
+            config.setReadOnly(true);
+            config.setConnectionTimeout(properties.connectionTimeout().toMillis());
+            // The pool starts even while the replica is down; the health check decides when it is used
+            config.setInitializationFailTimeout(-1);
+            config.setMetricRegistry(meterRegistry);
+            pools.add(new Replica(replica.url(), new HikariDataSource(config)));
+        }
+        this.primary = primary;
+        replicas = List.copyOf(pools);
+
+        Gauge.builder("datasource.replicas.healthy", this, ReadReplicas::healthyCount)
+                .description("Read replicas currently passing health checks")
+                .register(meterRegistry);
+    }
+
+    // A replica that fails to hand out a connection is taken out of rotation until the next successful check
+    public Optional<Connection> connection() {
+        List<Replica> healthy = replicas.stream().filter(replica -> replica.healthy).toList();
+        if (healthy.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Replica replica = healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+        try {
+            return Optional.of(replica.pool.getConnection());
+        } catch (SQLException e) {
+            replica.healthy = false;
+            log.warn("Read replica {} is unavailable, routing reads to the primary: {}", replica.url, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${microshop.read-replicas.health-check-interval:5s}")
+    public void checkHealth() {
+        if (replicas.isEmpty()) {
+            return;
+        }
+
+        // Read before the replicas are probed, so a replica at or past it has every transaction committed until now
+        Optional<String> primaryPosition = primaryPosition();
+        for (Replica replica : replicas) {
+            boolean healthy = primaryPosition.isPresent() && isHealthy(replica, primaryPosition.get());
+            if (healthy && !replica.healthy) {
+                log.info("Read replica {} is in rotation", replica.url);
+            } else if (!healthy && replica.healthy) {
+                log.warn("Read replica {} failed its health check, routing reads to the primary", replica.url);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private Optional<String> primaryPosition() {
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(PRIMARY_POSITION_QUERY)) {
+            resultSet.next();
+            return Optional.of(resultSet.getString(1));
+        } catch (SQLException e) {
+            log.debug("WAL position of the primary could not be read, so no replica can be checked against it: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private boolean isHealthy(Replica replica, String primaryPosition) {
+        try (Connection connection = replica.pool.getConnection();
+             PreparedStatement statement = connection.prepareStatement(LAG_QUERY)) {
+            statement.setString(1, primaryPosition);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                if (!resultSet.getBoolean("standby")) {
+                    log.debug("Read replica {} is not in recovery, so it no longer follows the primary", replica.url);
+                    return false;
+                }
+                if (!resultSet.getBoolean("streaming")) {
+                    log.debug("Read replica {} is not streaming WAL from the primary", replica.url);
+                    return false;
+                }
+                if (resultSet.getBoolean("caught_up")) {
+                    log.debug("Read replica {} has replayed up to the primary", replica.url);
+                    return true;
+                }
+                double lagSeconds = resultSet.getDouble("lag_seconds");
+                if (resultSet.wasNull()) {
+                    return false;
+                }
+
+                Duration lag = Duration.ofMillis((long) (lagSeconds * 1000));
+                log.debug("Read replica {} lags {} behind the primary", replica.url, lag);
+                return lag.compareTo(properties.maxLag()) <= 0;
+            }
+        } catch (SQLException e) {
+            log.debug("Read replica {} failed its health check: {}", replica.url, e.getMessage());
+            return false;
+        }
+    }
+
+    private int healthyCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private static final class Replica {
+        private final String url;
+        private final HikariDataSource pool;
+        private volatile boolean healthy;
+
+        private Replica(String url, HikariDataSource pool) {
+            this.url = url;
+            this.pool = pool;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.microshop.common.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microshop.common.config.ReadReplicaProperties;
+
+public class ReadYourWrites {
+    private static final ThreadLocal<ClientRequest> CURRENT = new ThreadLocal<>();
+
+    // Clients whose last write is recent enough that a replica might not have replayed it yet; kept per instance, not shared
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(ReadReplicaProperties properties) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(properties.stickyWindow())
+                .maximumSize(properties.maxStickyKeys())
+                .build();
+    }
+
+    // A null key still keeps the request's own reads on the primary after it writes, but nothing outlives the request
+    public void begin(String clientKey) {
+        boolean sticky = clientKey != null && recentWriters.getIfPresent(clientKey) != null;
+        CURRENT.set(new ClientRequest(clientKey, sticky));
+    }
+
+    // The window is restarted when the request ends, so it covers the commit and the time the response takes to arrive
+    public void end() {
+        ClientRequest request = CURRENT.get();
+        CURRENT.remove();
+        if (request != null && request.wrote) {
+            markRecentWriter(request);
+        }
+    }
+
+    public void recordWrite() {
+        ClientRequest request = CURRENT.get();
+        if (request != null && !request.wrote) {
+            request.wrote = true;
+            markRecentWriter(request);
+        }
+    }
+
+    public boolean requiresPrimary() {
+        ClientRequest request = CURRENT.get();
+        return request != null && (request.sticky || request.wrote);
+    }
+
+    private void markRecentWriter(ClientRequest request) {
+        if (request.clientKey != null) {
+            recentWriters.put(request.clientKey, Boolean.TRUE);
+        }
+    }
+
+    private static final class ClientRequest {
+        private final String clientKey;
+        private final boolean sticky;
+        private boolean wrote;
+
+        private ClientRequest(String clientKey, boolean sticky) {
+            this.clientKey = clientKey;
+            this.sticky = sticky;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.microshop.common.datasource;
+
+import com.microshop.common.config.ReadReplicaProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private final ReadYourWrites readYourWrites;
+    private final ReadReplicaProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        readYourWrites.begin(clientKey(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWrites.end();
+        }
+    }
+
+    // The first configured header present identifies the client, e.g. the customer, or the session for anonymous callers
+    private String clientKey(HttpServletRequest request) {
+        for (String header : properties.stickyKeyHeaders()) {
+            String value = request.getHeader(header);
+            if (value != null && !value.isBlank()) {
+                return header + ":" + value;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.microshop.common.exception;
+
+public class SqlBudgetExceededException extends IllegalStateException {
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.microshop.common.monitoring;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+public enum MethodLayer {
+    CONTROLLER,
+    SERVICE,
+    REPOSITORY;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+
+    public static Optional<MethodLayer> of(Class<?> type) {
+        if (AnnotatedElementUtils.hasAnnotation(type, Controller.class)) {
+            return Optional.of(CONTROLLER);
+        }
+        if (AnnotatedElementUtils.hasAnnotation(type, Service.class)) {
+            return Optional.of(SERVICE);
+        }
+        if (AnnotatedElementUtils.hasAnnotation(type, Repository.class)) {
+            return Optional.of(REPOSITORY);
+        }
+        return Optional.empty();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.microshop.common.monitoring;
+
+import com.microshop.common.config.SqlBudgetProperties;
+import com.microshop.common.exception.SqlBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class MethodMetricsInterceptor implements MethodInterceptor {
+    // Fixed buckets keep the histogram to a dozen series per method instead of the ~70 of a percentile histogram
+    private static final Duration[] LATENCY_BUCKETS = {
+            Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50),
+            Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofMillis(2500),
+            Duration.ofSeconds(5)
+    };
+    private static final double[] STATEMENT_BUCKETS = {1, 2, 5, 10, 20, 50, 100};
+
+    private final MeterRegistry meterRegistry;
+    private final SqlBudgetProperties sqlBudget;
+    private final MethodLayer layer;
+    private final Class<?> type;
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public MethodMetricsInterceptor(MeterRegistry meterRegistry, SqlBudgetProperties sqlBudget, MethodLayer layer, Class<?> type) {
+        this.meterRegistry = meterRegistry;
+        this.sqlBudget = sqlBudget;
+        this.layer = layer;
+        this.type = type;
+        // Meters of the type's own methods are registered up front, so a call only looks them up and never builds tags;
+        // inherited methods (e.g. JpaRepository's) are registered on their first call
+        for (Method method : type.getDeclaredMethods()) {
+            if (Modifier.isPublic(method.getModifiers()) && !method.isSynthetic()) {
+                meters.put(method, register(method));
+            }
+        }
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MethodMeters methodMeters = meters.get(invocation.getMethod());
+        if (methodMeters == null) {
+            methodMeters = meters.computeIfAbsent(invocation.getMethod(), this::register);
+        }
+
+        SqlMeters sql = methodMeters.sql();
+        long statementsBefore = sql != null ? SqlStatementRecorder.statements() : 0;
+        long sqlNanosBefore = sql != null ? SqlStatementRecorder.nanos() : 0;
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            methodMeters.error().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (sql != null) {
+                sql.record(SqlStatementRecorder.statements() - statementsBefore, SqlStatementRecorder.nanos() - sqlNanosBefore);
+            }
+            throw e;
+        }
+
+        methodMeters.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (sql != null) {
+            long statements = SqlStatementRecorder.statements() - statementsBefore;
+            long sqlNanos = SqlStatementRecorder.nanos() - sqlNanosBefore;
+            sql.record(statements, sqlNanos);
+            if (sql.overBudget(statements)) {
+                budgetExceeded(sql, statements, sqlNanos);
+            }
+        }
+        return result;
+    }
+
+    private void budgetExceeded(SqlMeters sql, long statements, long sqlNanos) {
+        sql.budgetExceeded().increment();
+        String message = "SQL budget exceeded by %s: %d statements (budget %d), %d ms in JDBC"
+                .formatted(sql.name(), statements, sql.budget(), TimeUnit.NANOSECONDS.toMillis(sqlNanos));
+        if (sqlBudget.action() == SqlBudgetProperties.Action.FAIL) {
+            throw new SqlBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+
+    private MethodMeters register(Method method) {
+        return new MethodMeters(timer(method, "success"), timer(method, "error"), sqlMeters(method));
+    }
+
+    private Timer timer(Method method, String outcome) {
+        return Timer.builder("method.duration")
+                .description("Latency of controller, service and repository methods")
+                .tags("layer", layer.tag(), "class", type.getSimpleName(), "method", method.getName(), "outcome", outcome)
+                .serviceLevelObjectives(LATENCY_BUCKETS)
+                .register(meterRegistry);
+    }
+
+    // SQL is measured per request (a controller call, which with open-in-view off spans all of its statements)
+    // and per @Transactional service method
+    private SqlMeters sqlMeters(Method method) {
+        String scope = switch (layer) {
+            case CONTROLLER -> "request";
+            case SERVICE -> isTransactional(method) ? "transaction" : null;
+            case REPOSITORY -> null;
+        };
+        if (scope == null) {
+            return null;
+        }
+
+        String name = type.getSimpleName() + "." + method.getName();
+        String[] tags = {"scope", scope, "class", type.getSimpleName(), "method", method.getName()};
+        int budget = sqlBudget.budget(name);
+        return new SqlMeters(
+                name,
+                budget,
+                DistributionSummary.builder("sql.statements")
+                        .description("JDBC statements executed per request or transaction")
+                        .tags(tags)
+                        .serviceLevelObjectives(STATEMENT_BUCKETS)
+                        .register(meterRegistry),
+                Timer.builder("sql.duration")
+                        .description("Time spent executing JDBC statements per request or transaction")
+                        .tags(tags)
+                        .register(meterRegistry),
+                budget > 0 ? Counter.builder("sql.budget.exceeded")
+                        .description("Requests and transactions that ran more statements than their budget")
+                        .tags(tags)
+                        .register(meterRegistry) : null
+        );
+    }
+
+    private boolean isTransactional(Method method) {
+        return AnnotatedElementUtils.hasAnnotation(AopUtils.getMostSpecificMethod(method, type), Transactional.class)
+                || AnnotatedElementUtils.hasAnnotation(type, Transactional.class);
+    }
+
+    private record MethodMeters(Timer success, Timer error, SqlMeters sql) {}
+
+    private record SqlMeters(String name, int budget, DistributionSummary statements, Timer duration, Counter budgetExceeded) {
+        void record(long statementCount, long nanos) {
+            statements.record(statementCount);
+            duration.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        boolean overBudget(long statementCount) {
+            return budget > 0 && statementCount > budget;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.microshop.common.monitoring;
+
+import com.microshop.common.config.SqlBudgetProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.AopInfrastructureBean;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+public class MethodMetricsPostProcessor implements BeanPostProcessor {
+    // Resolved lazily: creating the registry while post-processors are still being registered would skip its customizers
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectProvider<SqlBudgetProperties> sqlBudget;
+
+    public MethodMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<SqlBudgetProperties> sqlBudget) {
+        this.meterRegistry = meterRegistry;
+        this.sqlBudget = sqlBudget;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        // Spring Data repositories are timed inside their own proxy, where the repository interface is known
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor((proxyFactory, repository) ->
+                    proxyFactory.addAdvice(interceptor(MethodLayer.REPOSITORY, repository.getRepositoryInterface()))));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof AopInfrastructureBean) {
+            return bean;
+        }
+        Class<?> type = AopUtils.getTargetClass(bean);
+        if (Repository.class.isAssignableFrom(type)) {
+            return bean;
+        }
+
+        return MethodLayer.of(type)
+                .map(layer -> advise(bean, interceptor(layer, type)))
+                .orElse(bean);
+    }
+
+    private MethodMetricsInterceptor interceptor(MethodLayer layer, Class<?> type) {
+        return new MethodMetricsInterceptor(meterRegistry.getObject(), sqlBudget.getObject(), layer, type);
+    }
+
+    private Object advise(Object bean, MethodMetricsInterceptor interceptor) {
+        // Added in front of existing advice such as @Transactional, so the timing includes the commit
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.microshop.common.monitoring;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+public class SqlStatementDataSourcePostProcessor implements BeanPostProcessor {
+    private final SqlStatementRecorder recorder = new SqlStatementRecorder();
+
+    // Wrapping the pool itself counts every statement, whether it comes from Hibernate or from JdbcTemplate
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .listener(recorder)
+                    .build();
+        }
+        return bean;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.microshop.common.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+public class SqlStatementRecorder implements QueryExecutionListener {
+    // Running per-thread totals; callers take the difference around the code they measure, so they are never reset
+    private static final ThreadLocal<Totals> TOTALS = ThreadLocal.withInitial(Totals::new);
+
+    public static long statements() {
+        return TOTALS.get().statements;
+    }
+
+    public static long nanos() {
+        return TOTALS.get().nanos;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        TOTALS.get().startedAt = System.nanoTime();
+    }
+
+    // A JDBC batch is one round trip, so it counts as one statement
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Totals totals = TOTALS.get();
+        totals.statements++;
+        totals.nanos += System.nanoTime() - totals.startedAt;
+    }
+
+    private static final class Totals {
+        private long statements;
+        private long nanos;
+        private long startedAt;
+    }
+}
\ No newline at end of file
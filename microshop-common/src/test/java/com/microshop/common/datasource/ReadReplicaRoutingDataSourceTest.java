@@ -0,0 +1,91 @@
+package com.microshop.common.datasource;
+
+import com.microshop.common.config.ReadReplicaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadReplicaRoutingDataSourceTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private ReadReplicas replicas;
+    private ReadYourWrites readYourWrites;
+    private ReadReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource primary = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        replicas = mock(ReadReplicas.class);
+        when(replicas.connection()).thenReturn(Optional.of(replicaConnection));
+
+        ReadReplicaProperties properties = new ReadReplicaProperties(List.of(new ReadReplicaProperties.Replica("jdbc:postgresql://replica/shop", null, null)),
+                Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(2), Duration.ofMinutes(1), List.of("X-Customer-Id"), 100);
+        readYourWrites = new ReadYourWrites(properties);
+        dataSource = new ReadReplicaRoutingDataSource(primary, replicas, readYourWrites, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        readYourWrites.end();
+    }
+
+    @Test
+    void shouldSendOnlyReadOnlyTransactionsToReplica() throws SQLException {
+        readYourWrites.begin("X-Customer-Id:reader");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+
+        assertThat(routed("read-only")).isEqualTo(1);
+        assertThat(routed("read-write")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepClientOnPrimaryAfterItsOwnWrite() throws SQLException {
+        readYourWrites.begin("X-Customer-Id:writer");
+        dataSource.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        readYourWrites.end();
+
+        // The next request of the same client still reads its write; another client is not affected
+        readYourWrites.begin("X-Customer-Id:writer");
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        readYourWrites.end();
+        readYourWrites.begin("X-Customer-Id:someone-else");
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+
+        assertThat(routed("read-your-writes")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenNoReplicaIsHealthy() throws SQLException {
+        when(replicas.connection()).thenReturn(Optional.empty());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(routed("no-healthy-replica")).isEqualTo(1);
+    }
+
+    private double routed(String reason) {
+        return meterRegistry.get("datasource.connections.routed").tag("reason", reason).counter().count();
+    }
+}
\ No newline at end of file
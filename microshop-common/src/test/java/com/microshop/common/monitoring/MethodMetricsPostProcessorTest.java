@@ -0,0 +1,122 @@
+package com.microshop.common.monitoring;
+
+import com.microshop.common.config.SqlBudgetProperties;
+import com.microshop.common.exception.SqlBudgetExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MethodMetricsPostProcessorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldTimeServiceMethodsByOutcomeWithMetersRegisteredUpFront() {
+        SampleService service = (SampleService) postProcessor(SqlBudgetProperties.Action.LOG, Map.of())
+                .postProcessAfterInitialization(new SampleService(), "sampleService");
+
+        assertThat(timer("work", "success").count()).isZero();
+
+        service.work(0);
+        service.work(0);
+        assertThatThrownBy(service::fail).isInstanceOf(IllegalStateException.class);
+
+        assertThat(timer("work", "success").count()).isEqualTo(2);
+        assertThat(timer("fail", "error").count()).isEqualTo(1);
+        assertThat(timer("fail", "success").count()).isZero();
+    }
+
+    @Test
+    void shouldCountStatementsPerRequestAndTransaction() {
+        MethodMetricsPostProcessor postProcessor = postProcessor(SqlBudgetProperties.Action.LOG, Map.of());
+        SampleService service = (SampleService) postProcessor.postProcessAfterInitialization(new SampleService(), "sampleService");
+        SampleController controller = (SampleController) postProcessor.postProcessAfterInitialization(new SampleController(service), "sampleController");
+
+        controller.handle(3);
+        controller.handle(1);
+
+        assertThat(meterRegistry.get("sql.statements").tags("scope", "request", "class", "SampleController", "method", "handle").summary().totalAmount())
+                .isEqualTo(6);
+        assertThat(meterRegistry.get("sql.statements").tags("scope", "transaction", "class", "SampleService", "method", "work").summary().totalAmount())
+                .isEqualTo(4);
+        assertThat(meterRegistry.find("sql.statements").tags("class", "SampleService", "method", "fail").summary()).isNull();
+    }
+
+    @Test
+    void shouldFailCallsThatExceedTheirStatementBudget() {
+        SampleService service = (SampleService) postProcessor(SqlBudgetProperties.Action.FAIL, Map.of("SampleService.work", 2))
+                .postProcessAfterInitialization(new SampleService(), "sampleService");
+
+        service.work(2);
+        assertThatThrownBy(() -> service.work(3))
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessageContaining("SampleService.work: 3 statements (budget 2)");
+
+        assertThat(meterRegistry.get("sql.budget.exceeded").tags("class", "SampleService", "method", "work").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLeaveOtherBeansUnproxied() {
+        Object bean = new Object();
+
+        assertThat(postProcessor(SqlBudgetProperties.Action.LOG, Map.of()).postProcessAfterInitialization(bean, "plainBean")).isSameAs(bean);
+    }
+
+    private MethodMetricsPostProcessor postProcessor(SqlBudgetProperties.Action action, Map<String, Integer> budgets) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of(
+                "meterRegistry", meterRegistry,
+                "sqlBudgetProperties", new SqlBudgetProperties(action, 0, budgets)
+        ));
+        return new MethodMetricsPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class), beanFactory.getBeanProvider(SqlBudgetProperties.class));
+    }
+
+    private Timer timer(String method, String outcome) {
+        return meterRegistry.get("method.duration")
+                .tags("layer", "service", "class", "SampleService", "method", method, "outcome", outcome)
+                .timer();
+    }
+
+    private static void runStatements(int statements) {
+        SqlStatementRecorder recorder = new SqlStatementRecorder();
+        for (int i = 0; i < statements; i++) {
+            recorder.beforeQuery(null, List.of());
+            recorder.afterQuery(null, List.of());
+        }
+    }
+
+    @Service
+    public static class SampleService {
+        @Transactional
+        public void work(int statements) {
+            runStatements(statements);
+        }
+
+        public void fail() {
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    @RestController
+    public static class SampleController {
+        private final SampleService service;
+
+        public SampleController(SampleService service) {
+            this.service = service;
+        }
+
+        public void handle(int statements) {
+            runStatements(1);
+            service.work(statements);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.microshop.benchmarks.order;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.stream.Stream;
+
+/**
+ * Postgres used by the benchmarks: a Testcontainers instance, or an existing database when the
+ * {@code BENCHMARK_DATASOURCE_URL} environment variable (plus optional {@code _USERNAME} and {@code _PASSWORD}) is set.
+ * Environment variables are used because JMH forks do not inherit the launcher's system properties.
+ */
+public final class OrderDatabase implements AutoCloseable {
+    private final PostgreSQLContainer<?> container;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private OrderDatabase(PostgreSQLContainer<?> container, String url, String username, String password) {
+        this.container = container;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    public static OrderDatabase start() {
+        String url = System.getenv("BENCHMARK_DATASOURCE_URL");
+        if (url != null && !url.isBlank()) {
+            return new OrderDatabase(null, url,
+                    System.getenv().getOrDefault("BENCHMARK_DATASOURCE_USERNAME", "user"),
+                    System.getenv().getOrDefault("BENCHMARK_DATASOURCE_PASSWORD", "password"));
+        }
+
+        PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:18-alpine");
+        container.start();
+        return new OrderDatabase(container, container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+
+    public String[] arguments(String... extraArguments) {
+        return Stream.concat(
+                Stream.of(
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password
+                ),
+                Stream.of(extraArguments)
+        ).toArray(String[]::new);
+    }
+
+    public Connection connect() throws SQLException {
+        return DriverManager.getConnection(url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true", username, password);
+    }
+
+    @Override
+    public void close() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+}
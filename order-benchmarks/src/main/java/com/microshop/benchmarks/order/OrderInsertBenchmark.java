@@ -0,0 +1,95 @@
+package com.microshop.benchmarks.order;
+
+import com.microshop.order.OrderServiceApplication;
+import com.microshop.order.entity.Order;
+import com.microshop.order.entity.OrderItem;
+import com.microshop.order.id.OrderNumberGenerator;
+import com.microshop.order.repository.OrderRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderInsertBenchmark {
+    @Param({"1", "10", "100"})
+    private int itemsPerOrder;
+
+    private OrderDatabase database;
+    private ConfigurableApplicationContext context;
+    private OrderRepository repository;
+    private TransactionTemplate transactionTemplate;
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Setup(Level.Trial)
+    public void startService() {
+        database = OrderDatabase.start();
+        context = new SpringApplicationBuilder(OrderServiceApplication.class, RoundTripCounter.class)
+                .web(WebApplicationType.NONE)
+                .run(database.arguments("--spring.jpa.show-sql=false", "--logging.level.root=WARN"));
+        repository = context.getBean(OrderRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        orderNumberGenerator = context.getBean(OrderNumberGenerator.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopService() {
+        context.close();
+        database.close();
+    }
+
+    @Benchmark
+    public Long createOrder(RoundTrips roundTrips) {
+        long before = RoundTripCounter.current();
+        Order saved = transactionTemplate.execute(status -> repository.save(newOrder()));
+        roundTrips.record(RoundTripCounter.current() - before);
+        return saved.getId();
+    }
+
+    private Order newOrder() {
+        Order order = Order.builder()
+                .orderNumber(orderNumberGenerator.next())
+                .customerId("benchmark")
+                .build();
+        for (int i = 1; i <= itemsPerOrder; i++) {
+            order.addOrderItem(OrderItem.builder()
+                    .productId((long) i)
+                    .sku("BENCH-" + i)
+                    .price(new BigDecimal("9.99"))
+                    .quantity(1)
+                    .build());
+        }
+        return order;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        private long roundTrips;
+        private long orders;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            roundTrips = 0;
+            orders = 0;
+        }
+
+        void record(long count) {
+            roundTrips += count;
+            orders++;
+        }
+
+        public double roundTripsPerOrder() {
+            return orders == 0 ? 0 : (double) roundTrips / orders;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.microshop.benchmarks.order;
+
+import com.microshop.order.id.OrderNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Sustained insert load into a table shaped like {@code orders}, keyed by random or time-ordered order numbers.
+ * The unique index size per row is printed at the end of each trial; run with more or longer iterations to grow the table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 6, time = 10)
+@Fork(1)
+public class OrderNumberIndexBenchmark {
+    private static final int BATCH_SIZE = 1000;
+    private static final String TABLE = "order_number_benchmark";
+
+    public enum Strategy {
+        RANDOM_V4, TIME_ORDERED_V7
+    }
+
+    @Param({"RANDOM_V4", "TIME_ORDERED_V7"})
+    private Strategy strategy;
+
+    @Param({"1000000"})
+    private int preloadedRows;
+
+    private OrderDatabase database;
+    private Connection connection;
+    private Supplier<UUID> orderNumbers;
+
+    @Setup(Level.Trial)
+    public void createTable() throws SQLException {
+        database = OrderDatabase.start();
+        connection = database.connect();
+        OrderNumberGenerator generator = new OrderNumberGenerator();
+        orderNumbers = strategy == Strategy.RANDOM_V4 ? UUID::randomUUID : generator::next;
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("""
+                    CREATE TABLE %s (
+                        id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                        order_number UUID NOT NULL UNIQUE,
+                        customer_id VARCHAR(255) NOT NULL,
+                        created_at TIMESTAMP WITHOUT TIME ZONE DEFAULT CURRENT_TIMESTAMP
+                    )""".formatted(TABLE));
+        }
+        connection.setAutoCommit(false);
+        for (int loaded = 0; loaded < preloadedRows; loaded += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void reportIndexSize() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("""
+                     SELECT count(*), pg_relation_size('%s_order_number_key')
+                     FROM %s""".formatted(TABLE, TABLE))) {
+            resultSet.next();
+            long rows = resultSet.getLong(1);
+            long indexBytes = resultSet.getLong(2);
+            System.out.printf("%n%s: %d rows, order_number index %d MB (%.1f bytes/row)%n",
+                    strategy, rows, indexBytes / (1024 * 1024), (double) indexBytes / rows);
+        }
+        connection.rollback();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + TABLE);
+        }
+        connection.commit();
+        connection.close();
+        database.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertOrders() throws SQLException {
+        insertBatch();
+    }
+
+    private void insertBatch() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO " + TABLE + " (order_number, customer_id) VALUES (?, ?)")) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                statement.setObject(1, orderNumbers.get());
+                statement.setString(2, "benchmark");
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        connection.commit();
+    }
+}
\ No newline at end of file
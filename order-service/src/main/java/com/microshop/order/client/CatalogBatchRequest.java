@@ -0,0 +1,7 @@
+package com.microshop.order.client;
+
+import java.util.List;
+
+public record CatalogBatchRequest(
+        List<Long> ids
+) {}
\ No newline at end of file
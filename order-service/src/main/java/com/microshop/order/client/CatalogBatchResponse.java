@@ -0,0 +1,8 @@
+package com.microshop.order.client;
+
+import java.util.List;
+
+public record CatalogBatchResponse(
+        List<CatalogProduct> products,
+        List<Long> missingIds
+) {}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.microshop.order.client;
+
+import java.math.BigDecimal;
+
+public record CatalogProduct(
+        Long id,
+        String name,
+        BigDecimal price,
+        String sku
+) {}
\ No newline at end of file
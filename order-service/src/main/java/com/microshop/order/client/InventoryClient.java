@@ -0,0 +1,66 @@
+package com.microshop.order.client;
+
+import com.microshop.order.exception.InsufficientStockException;
+import com.microshop.order.exception.StockReservationReleasedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class InventoryClient {
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final Set<String> HOLDING_STATUSES = Set.of("RESERVED", "COMMITTED");
+
+    private final RestClient restClient;
+
+    public InventoryClient(RestClient productCatalogRestClient) {
+        this.restClient = productCatalogRestClient;
+    }
+
+    // The order number is the reservation id, so a retried reservation is answered from the existing one
+    public boolean reserve(UUID orderNumber, List<StockReservationItem> items) {
+        StockReservationResponse response = restClient.post()
+                .uri("/api/v1/stock/reservations")
+                .body(new StockReservationRequest(orderNumber.toString(), items))
+                .retrieve()
+                .onStatus(status -> status.value() == HttpStatus.CONFLICT.value(), (request, clientResponse) -> {
+                    throw new InsufficientStockException(orderNumber);
+                })
+                .body(StockReservationResponse.class);
+        if (response == null) {
+            return false;
+        }
+        // An existing reservation only stands in for this one while it still holds the stock
+        if (!response.created() && !HOLDING_STATUSES.contains(response.status())) {
+            throw new StockReservationReleasedException(orderNumber);
+        }
+        return response.created();
+    }
+
+    public void commit(Collection<UUID> orderNumbers) {
+        send("/api/v1/stock/reservations/commit", orderNumbers);
+    }
+
+    public void release(Collection<UUID> orderNumbers) {
+        send("/api/v1/stock/reservations/release", orderNumbers);
+    }
+
+    private void send(String uri, Collection<UUID> orderNumbers) {
+        List<String> ids = orderNumbers.stream().map(UUID::toString).toList();
+
+        for (int from = 0; from < ids.size(); from += MAX_BATCH_SIZE) {
+            restClient.post()
+                    .uri(uri)
+                    .body(new StockReservationIdsRequest(ids.subList(from, Math.min(from + MAX_BATCH_SIZE, ids.size()))))
+                    .retrieve()
+                    .toBodilessEntity();
+        }
+    }
+}
\ No newline at end of file
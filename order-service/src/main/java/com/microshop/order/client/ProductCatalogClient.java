@@ -0,0 +1,119 @@
+package com.microshop.order.client;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microshop.order.config.ProductCatalogProperties;
+import com.microshop.order.exception.ProductCatalogUnavailableException;
+import com.microshop.order.exception.ProductNotInCatalogException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Component
+public class ProductCatalogClient {
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private final RestClient restClient;
+    private final ProductCatalogProperties properties;
+    private final AsyncLoadingCache<Long, CatalogProduct> products;
+    private final Cache<Long, CatalogProduct> lastKnownProducts;
+
+    public ProductCatalogClient(RestClient productCatalogRestClient, ProductCatalogProperties properties) {
+        this.restClient = productCatalogRestClient;
+        this.properties = properties;
+        this.products = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.freshTtl())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .buildAsync(CacheLoader.<Long, CatalogProduct>bulk(this::fetch));
+        this.lastKnownProducts = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.staleTtl())
+                .build();
+    }
+
+    public Map<Long, CatalogProduct> getProducts(Collection<Long> productIds) {
+        Set<Long> ids = new LinkedHashSet<>(productIds);
+
+        Map<Long, CatalogProduct> found = lookup(ids);
+
+        List<Long> missingIds = ids.stream()
+                .filter(id -> !found.containsKey(id))
+                .toList();
+        if (!missingIds.isEmpty()) {
+            throw new ProductNotInCatalogException(missingIds);
+        }
+        return found;
+    }
+
+    private Map<Long, CatalogProduct> lookup(Set<Long> ids) {
+        // Missing ids are loaded in one bulk call; ids already being loaded by another request share its result
+        CompletableFuture<Map<Long, CatalogProduct>> lookup = products.getAll(ids);
+        try {
+            return lookup.get(properties.lookupTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return lastKnown(ids).orElseGet(() -> await(lookup));
+        } catch (ExecutionException e) {
+            return lastKnown(ids).orElseThrow(() -> unavailable(e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw unavailable(e);
+        }
+    }
+
+    private Map<Long, CatalogProduct> fetch(Set<? extends Long> ids) {
+        List<Long> pending = List.copyOf(ids);
+        Map<Long, CatalogProduct> loaded = new HashMap<>();
+
+        for (int from = 0; from < pending.size(); from += MAX_BATCH_SIZE) {
+            List<Long> chunk = pending.subList(from, Math.min(from + MAX_BATCH_SIZE, pending.size()));
+            CatalogBatchResponse response = restClient.post()
+                    .uri("/api/v1/products/batch")
+                    .body(new CatalogBatchRequest(chunk))
+                    .retrieve()
+                    .body(CatalogBatchResponse.class);
+
+            if (response != null && response.products() != null) {
+                response.products().forEach(product -> loaded.put(product.id(), product));
+            }
+        }
+
+        lastKnownProducts.putAll(loaded);
+        return loaded;
+    }
+
+    private Optional<Map<Long, CatalogProduct>> lastKnown(Set<Long> ids) {
+        Map<Long, CatalogProduct> cached = lastKnownProducts.getAllPresent(ids);
+        if (cached.size() < ids.size()) {
+            return Optional.empty();
+        }
+
+        log.warn("Product catalog lookup for {} failed or timed out, using last known prices", ids);
+        return Optional.of(cached);
+    }
+
+    private Map<Long, CatalogProduct> await(CompletableFuture<Map<Long, CatalogProduct>> lookup) {
+        try {
+            return lookup.get();
+        } catch (ExecutionException e) {
+            throw unavailable(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw unavailable(e);
+        }
+    }
+
+    private ProductCatalogUnavailableException unavailable(Throwable cause) {
+        return new ProductCatalogUnavailableException(cause);
+    }
+}
\ No newline at end of file
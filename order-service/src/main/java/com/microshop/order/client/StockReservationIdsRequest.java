@@ -0,0 +1,7 @@
+package com.microshop.order.client;
+
+import java.util.List;
+
+public record StockReservationIdsRequest(
+        List<String> reservationIds
+) {}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.microshop.order.client;
+
+public record StockReservationItem(
+        Long productId,
+        Integer quantity
+) {}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.microshop.order.client;
+
+import java.util.List;
+
+public record StockReservationRequest(
+        String reservationId,
+        List<StockReservationItem> items
+) {}
\ No newline at end of file
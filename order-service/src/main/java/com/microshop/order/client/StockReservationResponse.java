@@ -0,0 +1,7 @@
+package com.microshop.order.client;
+
+public record StockReservationResponse(
+        String reservationId,
+        String status,
+        boolean created
+) {}
\ No newline at end of file
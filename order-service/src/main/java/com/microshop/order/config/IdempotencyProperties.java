@@ -0,0 +1,13 @@
+package com.microshop.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "order.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("10000") long cacheMaximumSize,
+        @DefaultValue("1h") Duration purgeInterval
+) {}
\ No newline at end of file
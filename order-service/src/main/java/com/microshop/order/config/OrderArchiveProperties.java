@@ -0,0 +1,17 @@
+package com.microshop.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.time.Period;
+
+@ConfigurationProperties(prefix = "order.archive")
+public record OrderArchiveProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("12m") Period archiveAfter,
+        @DefaultValue("1h") Duration runInterval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("20") int maxBatchesPerRun,
+        @DefaultValue("100ms") Duration batchPause
+) {}
\ No newline at end of file
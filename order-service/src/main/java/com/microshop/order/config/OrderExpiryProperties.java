@@ -0,0 +1,16 @@
+package com.microshop.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "order.expiry")
+public record OrderExpiryProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("24h") Duration abandonedAfter,
+        @DefaultValue("1m") Duration sweepInterval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("20") int maxBatchesPerSweep,
+        @DefaultValue("100ms") Duration batchPause
+) {}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.microshop.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "order.partitions")
+public record OrderPartitionProperties(
+        @DefaultValue("3") int monthsAhead,
+        @DefaultValue("6h") Duration maintenanceInterval
+) {}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.microshop.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "order.payment-events")
+public record PaymentEventProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2") int workers,
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("500ms") Duration pollInterval,
+        @DefaultValue("7d") Duration retention,
+        @DefaultValue("1h") Duration purgeInterval,
+        @DefaultValue("X-Payment-Signature") String signatureHeader,
+        String signingSecret
+) {}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.microshop.order.config;
+
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+public class ProductCatalogClientConfig {
+    @Bean
+    public RestClient productCatalogRestClient(RestClient.Builder builder, ProductCatalogProperties properties) {
+        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.defaults()
+                .withConnectTimeout(properties.connectTimeout())
+                .withReadTimeout(properties.readTimeout());
+
+        return builder
+                .baseUrl(properties.baseUrl())
+                .requestFactory(ClientHttpRequestFactoryBuilder.detect().build(settings))
+                .build();
+    }
+}
\ No newline at end of file
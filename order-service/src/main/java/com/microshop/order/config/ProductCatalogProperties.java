@@ -0,0 +1,17 @@
+package com.microshop.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "order.catalog")
+public record ProductCatalogProperties(
+        @DefaultValue("http://localhost:8081") String baseUrl,
+        @DefaultValue("1s") Duration connectTimeout,
+        @DefaultValue("2s") Duration readTimeout,
+        @DefaultValue("300ms") Duration lookupTimeout,
+        @DefaultValue("30s") Duration freshTtl,
+        @DefaultValue("1h") Duration staleTtl,
+        @DefaultValue("10000") long maximumSize
+) {}
\ No newline at end of file
@@ -2,45 +2,82 @@ package com.microshop.order.controller;
 
 import com.microshop.order.dto.OrderRequest;
 import com.microshop.order.dto.OrderResponse;
+import com.microshop.order.dto.OrderWindowResponse;
 import com.microshop.order.dto.PaymentRequest;
+import com.microshop.order.dto.PricedOrderRequest;
 import com.microshop.order.dto.UpdateQuantityRequest;
+import com.microshop.order.entity.OrderStatus;
+import com.microshop.order.service.IdempotencyService;
 import com.microshop.order.service.OrderService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
+@Validated
 @RestController
 @RequestMapping("/api/v1/orders")
 @RequiredArgsConstructor
 public class OrderController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final OrderService service;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(
             @RequestHeader("X-Customer-Id") String customerId,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) @Size(max = 255) String idempotencyKey,
             @Valid @RequestBody OrderRequest request
     ) {
-        OrderResponse response = service.createOrder(request, customerId);
+        // Prices are resolved before the key is claimed, so neither the claim nor a connection is held across the catalog call
+        PricedOrderRequest pricedRequest = service.priceOrder(request);
+        IdempotencyService.Result<OrderResponse> result = idempotencyService.execute(
+                "create-order:" + customerId, idempotencyKey, request, OrderResponse.class,
+                () -> service.createOrder(pricedRequest, customerId)
+        );
+        OrderResponse response = result.body();
         URI location = ServletUriComponentsBuilder
                 .fromCurrentRequest()
                 .path("/{orderNumber}")
                 .buildAndExpand(response.orderNumber())
                 .toUri();
-        return ResponseEntity.created(location).body(response);
+        return ResponseEntity.created(location)
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+                .body(response);
+    }
+
+    @GetMapping
+    public OrderWindowResponse getCustomerOrders(
+            @RequestHeader("X-Customer-Id") String customerId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) @Size(max = 512) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size
+    ) {
+        return service.getCustomerOrders(customerId, status, from, to, size, cursor);
     }
 
     @GetMapping("/{orderNumber}")
-    public OrderResponse getOrder(@PathVariable String orderNumber) {
+    public OrderResponse getOrder(@PathVariable UUID orderNumber) {
         return service.getOrderByNumber(orderNumber);
     }
 
     @PatchMapping("/{orderNumber}/items/{productId}")
     public void updateItemQuantity(
-            @PathVariable String orderNumber,
+            @PathVariable UUID orderNumber,
             @PathVariable Long productId,
             @Valid @RequestBody UpdateQuantityRequest request
     ) {
@@ -48,23 +85,34 @@ public class OrderController {
     }
 
     @DeleteMapping("/{orderNumber}/items/{productId}")
-    public ResponseEntity<Void> removeItem(@PathVariable String orderNumber, @PathVariable Long productId) {
+    public ResponseEntity<Void> removeItem(@PathVariable UUID orderNumber, @PathVariable Long productId) {
         service.removeItemFromOrder(orderNumber, productId);
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{orderNumber}/place")
-    public void placeOrder(@PathVariable String orderNumber) {
+    public void placeOrder(@PathVariable UUID orderNumber) {
         service.placeOrder(orderNumber);
     }
 
     @PostMapping("/{orderNumber}/pay")
-    public void payOrder(@PathVariable String orderNumber, @Valid @RequestBody PaymentRequest request) {
-        service.payOrder(orderNumber, request.paymentMethod(), request.paymentId());
+    public ResponseEntity<Void> payOrder(
+            @PathVariable UUID orderNumber,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) @Size(max = 255) String idempotencyKey,
+            @Valid @RequestBody PaymentRequest request
+    ) {
+        IdempotencyService.Result<Void> result = idempotencyService.execute(
+                "pay-order:" + orderNumber, idempotencyKey, request, Void.class,
+                () -> {
+                    service.payOrder(orderNumber, request.paymentMethod(), request.paymentId());
+                    return null;
+                }
+        );
+        return ResponseEntity.ok().header(IDEMPOTENT_REPLAYED, String.valueOf(result.replayed())).build();
     }
 
     @DeleteMapping("/{orderNumber}/cancel")
-    public ResponseEntity<Void> cancelOrder(@PathVariable String orderNumber) {
+    public ResponseEntity<Void> cancelOrder(@PathVariable UUID orderNumber) {
         service.cancelOrder(orderNumber);
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,23 @@
+package com.microshop.order.controller;
+
+import com.microshop.order.dto.PaymentEventRequest;
+import com.microshop.order.service.PaymentEventService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/payment-events")
+@RequiredArgsConstructor
+public class PaymentEventController {
+    private static final String DUPLICATE_EVENT = "Duplicate-Event";
+
+    private final PaymentEventService service;
+
+    @PostMapping
+    public ResponseEntity<Void> receivePaymentEvent(@Valid @RequestBody PaymentEventRequest request) {
+        boolean enqueued = service.enqueue(request);
+        return ResponseEntity.accepted().header(DUPLICATE_EVENT, String.valueOf(!enqueued)).build();
+    }
+}
\ No newline at end of file
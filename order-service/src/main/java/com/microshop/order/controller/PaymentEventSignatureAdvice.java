@@ -0,0 +1,79 @@
+package com.microshop.order.controller;
+
+import com.microshop.order.config.PaymentEventProperties;
+import com.microshop.order.exception.InvalidPaymentSignatureException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+// The signature covers the raw body, so it is checked before the body is converted, which then reads the same bytes
+@ControllerAdvice(assignableTypes = PaymentEventController.class)
+@RequiredArgsConstructor
+public class PaymentEventSignatureAdvice extends RequestBodyAdviceAdapter {
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final PaymentEventProperties properties;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) throws IOException {
+        byte[] body = inputMessage.getBody().readAllBytes();
+        if (!isSigned(body, inputMessage.getHeaders().getFirst(properties.signatureHeader()))) {
+            throw new InvalidPaymentSignatureException();
+        }
+        return new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return inputMessage.getHeaders();
+            }
+        };
+    }
+
+    // Without a configured secret no event can be trusted
+    private boolean isSigned(byte[] body, String signature) {
+        if (!StringUtils.hasText(properties.signingSecret()) || signature == null) {
+            return false;
+        }
+        try {
+            return MessageDigest.isEqual(HexFormat.of().parseHex(signature), sign(body));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private byte[] sign(byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(properties.signingSecret().getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return mac.doFinal(body);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not compute payment event signature", e);
+        }
+    }
+}
\ No newline at end of file
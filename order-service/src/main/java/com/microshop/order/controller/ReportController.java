@@ -0,0 +1,45 @@
+package com.microshop.order.controller;
+
+import com.microshop.order.dto.DailySalesResponse;
+import com.microshop.order.dto.ProductSalesResponse;
+import com.microshop.order.dto.SalesRebuildResponse;
+import com.microshop.order.service.ReportService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Validated
+@RestController
+@RequestMapping("/api/v1/reports")
+@RequiredArgsConstructor
+public class ReportController {
+    private final ReportService service;
+
+    @GetMapping("/daily-sales")
+    public List<DailySalesResponse> getDailySales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return service.getDailySales(from, to);
+    }
+
+    @GetMapping("/product-sales")
+    public List<ProductSalesResponse> getTopProducts(
+            @RequestParam(defaultValue = "PLN") @Pattern(regexp = "[A-Z]{3}") String currency,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit
+    ) {
+        return service.getTopProducts(currency, limit);
+    }
+
+    @PostMapping("/sales/rebuild")
+    public SalesRebuildResponse rebuildSales() {
+        return service.rebuildSales();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.microshop.order.dto;
+
+import com.microshop.order.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+public record DailySalesResponse(
+        LocalDate date,
+        String currency,
+        long orders,
+        BigDecimal revenue,
+        Map<OrderStatus, Long> ordersByStatus
+) {}
\ No newline at end of file
@@ -1,24 +1,13 @@
 package com.microshop.order.dto;
 
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
-import jakarta.validation.constraints.PositiveOrZero;
-
-import java.math.BigDecimal;
 
 public record OrderItemRequest(
         @NotNull(message = "Product ID is required")
         @Positive(message = "Product ID must be positive")
         Long productId,
 
-        @NotBlank(message = "SKU is required")
-        String sku,
-
-        @NotNull(message = "Price is required")
-        @PositiveOrZero(message = "Price must be zero or positive")
-        BigDecimal price,
-
         @NotNull(message = "Quantity is required")
         @Positive(message = "Quantity must be positive")
         Integer quantity
@@ -3,9 +3,10 @@ package com.microshop.order.dto;
 import com.microshop.order.entity.OrderStatus;
 
 import java.math.BigDecimal;
+import java.util.UUID;
 
 public record OrderResponse(
-        String orderNumber,
+        UUID orderNumber,
         BigDecimal totalAmount,
         OrderStatus status
 ) {}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.microshop.order.dto;
+
+import com.microshop.order.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OrderSummaryResponse(
+        UUID orderNumber,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        String currency,
+        LocalDateTime createdAt
+) {}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.microshop.order.dto;
+
+import java.util.List;
+
+public record OrderWindowResponse(
+        List<OrderSummaryResponse> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.microshop.order.dto;
+
+import com.microshop.order.entity.PaymentMethod;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.UUID;
+
+public record PaymentEventRequest(
+        @NotNull(message = "Order number is required")
+        UUID orderNumber,
+
+        @NotBlank(message = "Payment ID is required")
+        @Size(max = 255, message = "Payment ID must be at most 255 characters")
+        String paymentId,
+
+        @NotNull(message = "Payment method is required")
+        PaymentMethod paymentMethod
+) {}
\ No newline at end of file
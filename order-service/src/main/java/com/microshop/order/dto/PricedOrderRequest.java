@@ -0,0 +1,10 @@
+package com.microshop.order.dto;
+
+import com.microshop.order.client.CatalogProduct;
+
+import java.util.Map;
+
+public record PricedOrderRequest(
+        OrderRequest request,
+        Map<Long, CatalogProduct> products
+) {}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.microshop.order.dto;
+
+import java.math.BigDecimal;
+
+public record ProductSalesResponse(
+        Long productId,
+        String currency,
+        long units,
+        BigDecimal revenue
+) {}
\ No newline at end of file
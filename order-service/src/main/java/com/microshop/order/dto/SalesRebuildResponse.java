@@ -0,0 +1,6 @@
+package com.microshop.order.dto;
+
+public record SalesRebuildResponse(
+        int dailySalesRows,
+        int productSalesRows
+) {}
\ No newline at end of file
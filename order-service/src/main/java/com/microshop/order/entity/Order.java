@@ -1,8 +1,8 @@
 package com.microshop.order.entity;
 
+import com.microshop.order.exception.IllegalOrderTransitionException;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.NaturalId;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -10,6 +10,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 @Getter
 @Entity
@@ -19,12 +20,13 @@ import java.util.List;
 @Table(name = "orders")
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_id_seq", allocationSize = 50)
     private Long id;
 
     @NaturalId
     @Column(name = "order_number", nullable = false, unique = true)
-    private String orderNumber;
+    private UUID orderNumber;
 
     @Column(name = "customer_id", nullable = false)
     private String customerId;
@@ -56,12 +58,20 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
 
-    @CreationTimestamp
+    // Assigned on persist rather than by the database, so the items can copy it as their partition key
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    @PrePersist
+    void assignCreatedAt() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
     public void addOrderItem(OrderItem item) {
         if (this.status != OrderStatus.CREATED) {
             throw new IllegalStateException("Items can only be added to an order in CREATED status");
@@ -129,8 +139,8 @@ public class Order {
     }
 
     public void assignPayment(PaymentMethod method, String paymentId) {
-        if (this.status != OrderStatus.PLACED) {
-            throw new IllegalStateException("Payment can only be assigned to a PLACED order");
+        if (!OrderTransition.PAY.isAllowedFrom(status)) {
+            throw new IllegalOrderTransitionException("Payment can only be assigned to a PLACED order");
         }
 
         this.paymentMethod = method;
@@ -138,19 +148,19 @@ public class Order {
     }
 
     public void place() {
-        if (status != OrderStatus.CREATED) {
-            throw new IllegalStateException("Order can only be placed from CREATED status");
+        if (!OrderTransition.PLACE.isAllowedFrom(status)) {
+            throw new IllegalOrderTransitionException(OrderTransition.PLACE.rejectionMessage(status));
         }
         if (orderItems.isEmpty()) {
             throw new IllegalStateException("Order must contain at least one item");
         }
 
-        this.status = OrderStatus.PLACED;
+        this.status = OrderTransition.PLACE.target();
     }
 
     public void pay() {
-        if (status != OrderStatus.PLACED) {
-            throw new IllegalStateException("Order must be PLACED to be paid");
+        if (!OrderTransition.PAY.isAllowedFrom(status)) {
+            throw new IllegalOrderTransitionException(OrderTransition.PAY.rejectionMessage(status));
         }
         if (paymentMethod == null) {
             throw new IllegalStateException("Payment method must be selected before paying");
@@ -159,15 +169,15 @@ public class Order {
             throw new IllegalStateException("Payment must be authorized (paymentId is missing)");
         }
 
-        this.status = OrderStatus.PAID;
+        this.status = OrderTransition.PAY.target();
     }
 
     public void cancel() {
-        if (status == OrderStatus.SHIPPED || status == OrderStatus.DELIVERED || status == OrderStatus.CANCELLED) {
-            throw new IllegalStateException("Order cannot be cancelled in status: " + status);
+        if (!OrderTransition.CANCEL.isAllowedFrom(status)) {
+            throw new IllegalOrderTransitionException(OrderTransition.CANCEL.rejectionMessage(status));
         }
 
-        this.status = OrderStatus.CANCELLED;
+        this.status = OrderTransition.CANCEL.target();
     }
 
     private void recalculateTotal() {
@@ -6,5 +6,9 @@ public enum OrderStatus {
     PAID,
     SHIPPED,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    public boolean isSale() {
+        return this == PAID || this == SHIPPED || this == DELIVERED;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.microshop.order.entity;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum OrderTransition {
+    PLACE(OrderStatus.PLACED, EnumSet.of(OrderStatus.CREATED), "Order can only be placed from CREATED status (current status: %s)"),
+    PAY(OrderStatus.PAID, EnumSet.of(OrderStatus.PLACED), "Order must be PLACED to be paid (current status: %s)"),
+    CANCEL(OrderStatus.CANCELLED, EnumSet.of(OrderStatus.CREATED, OrderStatus.PLACED, OrderStatus.PAID), "Order cannot be cancelled in status: %s"),
+    EXPIRE(OrderStatus.CANCELLED, EnumSet.of(OrderStatus.CREATED, OrderStatus.PLACED), "Only unpaid orders can expire (current status: %s)");
+
+    private final OrderStatus target;
+    private final Set<OrderStatus> allowedFrom;
+    private final String rejection;
+
+    OrderTransition(OrderStatus target, Set<OrderStatus> allowedFrom, String rejection) {
+        this.target = target;
+        this.allowedFrom = allowedFrom;
+        this.rejection = rejection;
+    }
+
+    public OrderStatus target() {
+        return target;
+    }
+
+    public Set<OrderStatus> allowedFrom() {
+        return allowedFrom;
+    }
+
+    public boolean isAllowedFrom(OrderStatus status) {
+        return allowedFrom.contains(status);
+    }
+
+    public String rejectionMessage(OrderStatus status) {
+        return rejection.formatted(status);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.microshop.order.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String key) {
+        super("Idempotency key " + key + " was already used with a different request");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.microshop.order.exception;
+
+public class IllegalOrderTransitionException extends IllegalStateException {
+    public IllegalOrderTransitionException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
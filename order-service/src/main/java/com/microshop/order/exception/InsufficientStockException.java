@@ -0,0 +1,9 @@
+package com.microshop.order.exception;
+
+import java.util.UUID;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(UUID orderNumber) {
+        super("Insufficient stock to place order: " + orderNumber);
+    }
+}
\ No newline at end of file
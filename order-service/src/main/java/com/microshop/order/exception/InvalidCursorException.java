@@ -0,0 +1,7 @@
+package com.microshop.order.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException() {
+        super("Cursor is malformed");
+    }
+}
\ No newline at end of file
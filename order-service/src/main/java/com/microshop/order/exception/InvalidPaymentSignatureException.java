@@ -0,0 +1,7 @@
+package com.microshop.order.exception;
+
+public class InvalidPaymentSignatureException extends RuntimeException {
+    public InvalidPaymentSignatureException() {
+        super("Payment event signature is missing or invalid");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.microshop.order.exception;
+
+import java.util.UUID;
+
+public class OrderNotFoundException extends RuntimeException {
+    public OrderNotFoundException(UUID orderNumber) {
+        super("Order not found: " + orderNumber);
+    }
+}
\ No newline at end of file
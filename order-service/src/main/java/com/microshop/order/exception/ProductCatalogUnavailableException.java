@@ -0,0 +1,7 @@
+package com.microshop.order.exception;
+
+public class ProductCatalogUnavailableException extends RuntimeException {
+    public ProductCatalogUnavailableException(Throwable cause) {
+        super("Product catalog is unavailable", cause);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.microshop.order.exception;
+
+import java.util.Collection;
+
+public class ProductNotInCatalogException extends RuntimeException {
+    public ProductNotInCatalogException(Collection<Long> productIds) {
+        super("Products not found in catalog: " + productIds);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.microshop.order.exception;
+
+import java.util.UUID;
+
+public class StockReservationReleasedException extends RuntimeException {
+    public StockReservationReleasedException(UUID orderNumber) {
+        super("Stock reservation of order " + orderNumber + " was released and no longer holds stock");
+    }
+}
\ No newline at end of file
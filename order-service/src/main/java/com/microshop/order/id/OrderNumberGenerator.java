@@ -0,0 +1,42 @@
+package com.microshop.order.id;
+
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// UUIDv7 (RFC 9562): 48-bit Unix millis, a 12-bit counter ordering numbers issued within the same millisecond,
+// and 62 random bits keeping numbers from different instances apart
+@Component
+public class OrderNumberGenerator {
+    private static final int COUNTER_BITS = 12;
+
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+    private final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    public OrderNumberGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    OrderNumberGenerator(Clock clock) {
+        this.clock = clock;
+    }
+
+    public UUID next() {
+        // A counter overflow or a clock stepping back borrows from the next millisecond instead of breaking the order
+        long now = clock.millis() << COUNTER_BITS;
+        long timestampAndCounter = lastTimestampAndCounter.updateAndGet(last -> Math.max(last + 1, now));
+
+        long mostSigBits = (timestampAndCounter >>> COUNTER_BITS) << 16 | 0x7000L | (timestampAndCounter & 0xFFFL);
+        long leastSigBits = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static Instant timestampOf(UUID orderNumber) {
+        return Instant.ofEpochMilli(orderNumber.getMostSignificantBits() >>> 16);
+    }
+}
\ No newline at end of file
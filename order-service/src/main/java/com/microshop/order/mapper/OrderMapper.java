@@ -1,14 +1,15 @@
 package com.microshop.order.mapper;
 
+import com.microshop.order.client.CatalogProduct;
 import com.microshop.order.dto.OrderItemRequest;
 import com.microshop.order.dto.OrderRequest;
 import com.microshop.order.dto.OrderResponse;
 import com.microshop.order.entity.Order;
 import com.microshop.order.entity.OrderItem;
-import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.mapstruct.MappingTarget;
+
+import java.util.UUID;
 
 @Mapper(componentModel = "spring")
 public interface OrderMapper {
@@ -23,18 +24,16 @@ public interface OrderMapper {
     @Mapping(target = "customerId", source = "customerId")
     @Mapping(target = "orderNumber", source = "orderNumber")
     @Mapping(target = "orderItems", ignore = true)
-    Order toEntity(OrderRequest request, String customerId, String orderNumber);
+    Order toEntity(OrderRequest request, String customerId, UUID orderNumber);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "order", ignore = true)
-    OrderItem toOrderItemEntity(OrderItemRequest request);
+    @Mapping(target = "orderCreatedAt", ignore = true)
+    @Mapping(target = "productId", source = "request.productId")
+    @Mapping(target = "quantity", source = "request.quantity")
+    @Mapping(target = "sku", source = "product.sku")
+    @Mapping(target = "price", source = "product.price")
+    OrderItem toOrderItemEntity(OrderItemRequest request, CatalogProduct product);
 
     OrderResponse toResponse(Order order);
-
-    @AfterMapping
-    default void linkOrderItems(OrderRequest request, @MappingTarget Order order) {
-        if (request.items() != null) {
-            request.items().forEach(itemRequest -> order.addOrderItem(toOrderItemEntity(itemRequest)));
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.microshop.order.monitoring;
+
+import com.microshop.order.entity.OrderTransition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+public class OrderMetrics {
+    private final Counter created;
+    private final Map<OrderTransition, Counter> transitions = new EnumMap<>(OrderTransition.class);
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        // Not "orders.created": Prometheus reserves the _created suffix and would export it as orders_total
+        this.created = counter(meterRegistry, "orders.opened", "Orders created");
+        // Expired orders are counted by the expiry sweep as orders.expired
+        transitions.put(OrderTransition.PLACE, counter(meterRegistry, "orders.placed", "Orders placed"));
+        transitions.put(OrderTransition.PAY, counter(meterRegistry, "orders.paid", "Orders paid, directly or through payment events"));
+        transitions.put(OrderTransition.CANCEL, counter(meterRegistry, "orders.cancelled", "Orders cancelled by customers"));
+    }
+
+    public void orderCreated() {
+        created.increment();
+    }
+
+    public void transitioned(OrderTransition transition, int orders) {
+        Counter counter = transitions.get(transition);
+        if (counter != null) {
+            counter.increment(orders);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String description) {
+        return Counter.builder(name).description(description).register(meterRegistry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.microshop.order.pagination;
+
+import java.time.LocalDateTime;
+
+public record OrderCursor(
+        LocalDateTime createdAt,
+        Long id
+) {}
\ No newline at end of file
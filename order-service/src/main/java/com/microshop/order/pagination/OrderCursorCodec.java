@@ -0,0 +1,38 @@
+package com.microshop.order.pagination;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microshop.order.exception.InvalidCursorException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Base64;
+
+@Component
+@RequiredArgsConstructor
+public class OrderCursorCodec {
+    private final ObjectMapper objectMapper;
+
+    public String encode(OrderCursor cursor) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(cursor);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode order cursor", e);
+        }
+    }
+
+    public OrderCursor decode(String token) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token);
+            OrderCursor cursor = objectMapper.readValue(json, OrderCursor.class);
+            if (cursor.createdAt() == null || cursor.id() == null) {
+                throw new InvalidCursorException();
+            }
+            return cursor;
+        } catch (IllegalArgumentException | IOException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
\ No newline at end of file
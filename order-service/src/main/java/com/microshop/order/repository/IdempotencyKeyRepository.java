@@ -0,0 +1,49 @@
+package com.microshop.order.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+    // A key left behind after expiry but not purged yet is claimed again instead of being replayed
+    private static final String CLAIM = """
+            INSERT INTO idempotency_keys (scope, idempotency_key, request_hash, expires_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (scope, idempotency_key) DO UPDATE
+            SET request_hash = excluded.request_hash, response_body = NULL, expires_at = excluded.expires_at
+            WHERE idempotency_keys.expires_at < now()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean claim(String scope, String key, String requestHash, Instant expiresAt) {
+        return jdbcTemplate.update(CLAIM, scope, key, requestHash, Timestamp.from(expiresAt)) > 0;
+    }
+
+    public void complete(String scope, String key, String responseBody) {
+        jdbcTemplate.update(
+                "UPDATE idempotency_keys SET response_body = ? WHERE scope = ? AND idempotency_key = ?",
+                responseBody, scope, key
+        );
+    }
+
+    public Optional<StoredResponse> find(String scope, String key) {
+        return jdbcTemplate.query(
+                "SELECT request_hash, response_body FROM idempotency_keys WHERE scope = ? AND idempotency_key = ?",
+                (resultSet, rowNum) -> new StoredResponse(resultSet.getString("request_hash"), resultSet.getString("response_body")),
+                scope, key
+        ).stream().findFirst();
+    }
+
+    public int deleteExpired() {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < now()");
+    }
+
+    public record StoredResponse(String requestHash, String responseBody) {}
+}
\ No newline at end of file
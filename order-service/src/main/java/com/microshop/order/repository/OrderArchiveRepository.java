@@ -0,0 +1,64 @@
+package com.microshop.order.repository;
+
+import com.microshop.order.dto.OrderResponse;
+import com.microshop.order.entity.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderArchiveRepository {
+    public static final Set<OrderStatus> ARCHIVABLE = Set.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    // Moves a batch of finished orders in one statement; their items are deleted alongside and packed into the archive row
+    private static final String ARCHIVE = """
+            WITH batch AS (
+                SELECT id, created_at
+                FROM orders
+                WHERE status IN (%s) AND created_at < ?
+                ORDER BY created_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), archived AS (
+                DELETE FROM orders o
+                USING batch
+                WHERE o.id = batch.id AND o.created_at = batch.created_at
+                RETURNING o.*
+            ), items AS (
+                DELETE FROM order_items i
+                USING archived
+                WHERE i.order_id = archived.id AND i.order_created_at = archived.created_at
+                RETURNING i.id, i.order_id, i.product_id, i.sku, i.price, i.quantity
+            )
+            INSERT INTO orders_archive (id, order_number, customer_id, status, payment_method, payment_id, currency, total_amount, created_at, updated_at, items)
+            SELECT a.id, a.order_number, a.customer_id, a.status, a.payment_method, a.payment_id, a.currency, a.total_amount, a.created_at, a.updated_at,
+                   coalesce((
+                       SELECT jsonb_agg(jsonb_build_object('product_id', i.product_id, 'sku', i.sku, 'price', i.price, 'quantity', i.quantity) ORDER BY i.id)
+                       FROM items i
+                       WHERE i.order_id = a.id
+                   ), '[]'::jsonb)
+            FROM archived a
+            """.formatted(ARCHIVABLE.stream().map(status -> "'" + status.name() + "'").sorted().collect(Collectors.joining(", ")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int archive(LocalDateTime createdBefore, int limit) {
+        return jdbcTemplate.update(ARCHIVE, createdBefore, limit);
+    }
+
+    public Optional<OrderResponse> findOrder(UUID orderNumber) {
+        return jdbcTemplate.query("SELECT order_number, total_amount, status FROM orders_archive WHERE order_number = ?",
+                (resultSet, rowNum) -> new OrderResponse(
+                        resultSet.getObject("order_number", UUID.class),
+                        resultSet.getBigDecimal("total_amount"),
+                        OrderStatus.valueOf(resultSet.getString("status"))
+                ), orderNumber).stream().findFirst();
+    }
+}
\ No newline at end of file
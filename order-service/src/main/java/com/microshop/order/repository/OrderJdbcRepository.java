@@ -0,0 +1,212 @@
+package com.microshop.order.repository;
+
+import com.microshop.order.dto.OrderSummaryResponse;
+import com.microshop.order.entity.OrderStatus;
+import com.microshop.order.entity.OrderTransition;
+import com.microshop.order.entity.PaymentMethod;
+import com.microshop.order.pagination.OrderCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderJdbcRepository {
+    // The target row is locked first, so the status reported back is the one the conditional update was checked against
+    private static final String TRANSITION = """
+            WITH target AS (
+                SELECT id, created_at, status, %s AS has_items
+                FROM orders
+                WHERE order_number = ? AND created_at >= order_created_from(?) AND created_at < order_created_to(?)
+                FOR UPDATE
+            ), transitioned AS (
+                UPDATE orders o
+                SET status = ?, %sversion = o.version + 1, updated_at = ?
+                FROM target
+                WHERE o.id = target.id AND o.created_at = target.created_at AND o.status IN (%s) AND target.has_items
+                RETURNING o.id
+            )
+            SELECT target.id, target.status, target.has_items, EXISTS (SELECT 1 FROM transitioned) AS transitioned
+            FROM target
+            """;
+
+    // SKIP LOCKED lets several instances sweep at once, each taking rows the others have not locked
+    private static final String EXPIRE_ABANDONED = """
+            WITH abandoned AS (
+                SELECT id, created_at, status
+                FROM orders
+                WHERE status IN (%s) AND updated_at < ?
+                ORDER BY updated_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE orders o
+            SET status = ?, version = o.version + 1, updated_at = ?
+            FROM abandoned
+            WHERE o.id = abandoned.id AND o.created_at = abandoned.created_at
+            RETURNING o.id, o.order_number, abandoned.status AS previous_status
+            """.formatted(statusList(OrderTransition.EXPIRE.allowedFrom()));
+
+    private static final String COUNT_ABANDONED = """
+            SELECT count(*)
+            FROM orders
+            WHERE status IN (%s) AND updated_at < ?
+            """.formatted(statusList(OrderTransition.EXPIRE.allowedFrom()));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<OrderSummaryRow> findCustomerOrders(String customerId, OrderStatus status, LocalDateTime from, LocalDateTime to, OrderCursor after, int limit) {
+        // Only the filters that are present are added, so every variant plans as a range scan on the customer index
+        StringBuilder filters = new StringBuilder("WHERE customer_id = ?\n");
+        List<Object> filterArgs = new ArrayList<>();
+        filterArgs.add(customerId);
+
+        if (status != null) {
+            filters.append("AND status = ?\n");
+            filterArgs.add(status.name());
+        }
+        if (from != null) {
+            filters.append("AND created_at >= ?\n");
+            filterArgs.add(from);
+        }
+        if (to != null) {
+            filters.append("AND created_at < ?\n");
+            filterArgs.add(to);
+        }
+        if (after != null) {
+            filters.append("AND (created_at, id) < (?, ?)\n");
+            filterArgs.add(after.createdAt());
+            filterArgs.add(after.id());
+        }
+
+        // Archived orders keep their id and creation time, so both halves merge into one keyset order
+        String sql = """
+                SELECT id, order_number, status, total_amount, currency, created_at
+                FROM (
+                    (SELECT id, order_number, status, total_amount, currency, created_at
+                     FROM orders
+                     %1$sORDER BY created_at DESC, id DESC
+                     LIMIT ?)
+                    UNION ALL
+                    (SELECT id, order_number, status, total_amount, currency, created_at
+                     FROM orders_archive
+                     %1$sORDER BY created_at DESC, id DESC
+                     LIMIT ?)
+                ) history
+                ORDER BY created_at DESC, id DESC
+                LIMIT ?
+                """.formatted(filters);
+        List<Object> args = new ArrayList<>(filterArgs);
+        args.add(limit);
+        args.addAll(filterArgs);
+        args.add(limit);
+        args.add(limit);
+
+        return jdbcTemplate.query(sql, (resultSet, rowNum) -> new OrderSummaryRow(
+                resultSet.getLong("id"),
+                new OrderSummaryResponse(
+                        resultSet.getObject("order_number", UUID.class),
+                        OrderStatus.valueOf(resultSet.getString("status")),
+                        resultSet.getBigDecimal("total_amount"),
+                        resultSet.getString("currency"),
+                        resultSet.getObject("created_at", LocalDateTime.class)
+                )
+        ), args.toArray());
+    }
+
+    public Optional<TransitionResult> transition(UUID orderNumber, OrderTransition transition, PaymentMethod paymentMethod, String paymentId) {
+        boolean requiresItems = transition == OrderTransition.PLACE;
+        boolean assignsPayment = transition == OrderTransition.PAY;
+        String sql = TRANSITION.formatted(
+                requiresItems ? "EXISTS (SELECT 1 FROM order_items i WHERE i.order_id = orders.id AND i.order_created_at = orders.created_at)" : "TRUE",
+                assignsPayment ? "payment_method = ?, payment_id = ?, " : "",
+                statusList(transition.allowedFrom())
+        );
+
+        List<Object> args = new ArrayList<>();
+        args.add(orderNumber);
+        args.add(orderNumber);
+        args.add(orderNumber);
+        args.add(transition.target().name());
+        if (assignsPayment) {
+            args.add(paymentMethod.name());
+            args.add(paymentId);
+        }
+        args.add(LocalDateTime.now());
+
+        return jdbcTemplate.query(sql, (resultSet, rowNum) -> new TransitionResult(
+                resultSet.getLong("id"),
+                OrderStatus.valueOf(resultSet.getString("status")),
+                resultSet.getBoolean("has_items"),
+                resultSet.getBoolean("transitioned")
+        ), args.toArray()).stream().findFirst();
+    }
+
+    public Optional<OrderStatus> findStatus(UUID orderNumber) {
+        return jdbcTemplate.queryForList("""
+                        SELECT status
+                        FROM orders
+                        WHERE order_number = ? AND created_at >= order_created_from(?) AND created_at < order_created_to(?)
+                        """, String.class,
+                orderNumber, orderNumber, orderNumber).stream()
+                .map(OrderStatus::valueOf)
+                .findFirst();
+    }
+
+    // Item edits update the order row, so while its lock is held the items read afterwards cannot change
+    public Optional<OrderStatus> lockOrder(UUID orderNumber) {
+        return jdbcTemplate.queryForList("""
+                        SELECT status
+                        FROM orders
+                        WHERE order_number = ? AND created_at >= order_created_from(?) AND created_at < order_created_to(?)
+                        FOR UPDATE
+                        """, String.class,
+                orderNumber, orderNumber, orderNumber).stream()
+                .map(OrderStatus::valueOf)
+                .findFirst();
+    }
+
+    public List<ItemQuantity> findItemQuantities(UUID orderNumber) {
+        return jdbcTemplate.query("""
+                        SELECT i.product_id, i.quantity
+                        FROM order_items i
+                        JOIN orders o ON o.id = i.order_id AND o.created_at = i.order_created_at
+                        WHERE o.order_number = ? AND o.created_at >= order_created_from(?) AND o.created_at < order_created_to(?)
+                        ORDER BY i.product_id
+                        """,
+                (resultSet, rowNum) -> new ItemQuantity(resultSet.getLong("product_id"), resultSet.getInt("quantity")),
+                orderNumber, orderNumber, orderNumber);
+    }
+
+    public List<ExpiredOrder> expireAbandoned(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.query(EXPIRE_ABANDONED, (resultSet, rowNum) -> new ExpiredOrder(
+                resultSet.getLong("id"),
+                resultSet.getObject("order_number", UUID.class),
+                OrderStatus.valueOf(resultSet.getString("previous_status"))
+        ), cutoff, limit, OrderTransition.EXPIRE.target().name(), LocalDateTime.now());
+    }
+
+    public long countAbandoned(LocalDateTime cutoff) {
+        return jdbcTemplate.queryForObject(COUNT_ABANDONED, Long.class, cutoff);
+    }
+
+    private static String statusList(Set<OrderStatus> statuses) {
+        return statuses.stream().map(status -> "'" + status.name() + "'").collect(Collectors.joining(", "));
+    }
+
+    public record ExpiredOrder(Long id, UUID orderNumber, OrderStatus previousStatus) {}
+
+    public record ItemQuantity(Long productId, int quantity) {}
+
+    public record TransitionResult(Long orderId, OrderStatus previousStatus, boolean hasItems, boolean transitioned) {}
+
+    public record OrderSummaryRow(Long id, OrderSummaryResponse summary) {}
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.microshop.order.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+// Partition DDL lives in the database functions from V9, so migrations and the running service name partitions alike
+@Repository
+@RequiredArgsConstructor
+public class OrderPartitionRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public void createPartitions(LocalDate month) {
+        jdbcTemplate.query("SELECT create_order_partitions(?)", resultSet -> {}, month);
+    }
+
+    public int dropEmptyPartitions(LocalDate before) {
+        return jdbcTemplate.queryForObject("SELECT drop_empty_order_partitions(?)", Integer.class, before);
+    }
+}
\ No newline at end of file
@@ -3,10 +3,19 @@ package com.microshop.order.repository;
 import com.microshop.order.entity.Order;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
+import java.util.UUID;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+    // The creation window read from the order number narrows the lookup to the partitions that can hold the order
     @EntityGraph(attributePaths = {"orderItems"})
-    Optional<Order> findByOrderNumber(String orderNumber);
+    @Query("""
+            SELECT o FROM Order o
+            WHERE o.orderNumber = :orderNumber
+              AND o.createdAt >= cast(order_created_from(:orderNumber) as LocalDateTime)
+              AND o.createdAt < cast(order_created_to(:orderNumber) as LocalDateTime)
+            """)
+    Optional<Order> findByOrderNumber(UUID orderNumber);
 }
\ No newline at end of file
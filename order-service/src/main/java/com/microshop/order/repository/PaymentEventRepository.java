@@ -0,0 +1,103 @@
+package com.microshop.order.repository;
+
+import com.microshop.order.entity.OrderStatus;
+import com.microshop.order.entity.PaymentMethod;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class PaymentEventRepository {
+    // Only the oldest pending event of each order is claimable, so events of one order are applied in arrival order
+    // even when several workers or instances claim batches at the same time
+    private static final String CLAIM = """
+            SELECT e.id
+            FROM payment_events e
+            WHERE e.status = 'PENDING'
+              AND NOT EXISTS (
+                  SELECT 1
+                  FROM payment_events earlier
+                  WHERE earlier.order_number = e.order_number AND earlier.status = 'PENDING' AND earlier.id < e.id
+              )
+            ORDER BY e.id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    // Pays every order of the batch that is still payable and settles all claimed events in one statement
+    private static final String APPLY = """
+            WITH target AS (
+                SELECT o.id, o.created_at, o.status, e.id AS event_id, e.payment_method, e.payment_id
+                FROM payment_events e
+                JOIN orders o ON o.order_number = e.order_number
+                    AND o.created_at >= order_created_from(e.order_number) AND o.created_at < order_created_to(e.order_number)
+                WHERE e.id = ANY (?) AND o.status = ANY (?)
+                FOR UPDATE OF o
+            ), paid AS (
+                UPDATE orders o
+                SET status = ?, payment_method = target.payment_method, payment_id = target.payment_id,
+                    version = o.version + 1, updated_at = ?
+                FROM target
+                WHERE o.id = target.id AND o.created_at = target.created_at
+                RETURNING target.event_id, o.id AS order_id, target.status AS previous_status
+            )
+            UPDATE payment_events e
+            SET status = CASE WHEN paid.event_id IS NULL THEN 'REJECTED' ELSE 'APPLIED' END, processed_at = ?
+            FROM unnest(?::bigint[]) AS batch(id)
+            LEFT JOIN paid ON paid.event_id = batch.id
+            WHERE e.id = batch.id
+            RETURNING e.id, e.received_at, e.order_number, paid.order_id, paid.previous_status
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean enqueue(UUID orderNumber, PaymentMethod paymentMethod, String paymentId) {
+        return jdbcTemplate.update("""
+                INSERT INTO payment_events (payment_id, order_number, payment_method)
+                VALUES (?, ?, ?)
+                ON CONFLICT (payment_id) DO NOTHING
+                """, paymentId, orderNumber, paymentMethod.name()) == 1;
+    }
+
+    public List<Long> claim(int limit) {
+        return jdbcTemplate.queryForList(CLAIM, Long.class, limit);
+    }
+
+    public List<AppliedEvent> apply(List<Long> eventIds, Set<OrderStatus> payableStatuses, OrderStatus paidStatus) {
+        Long[] ids = eventIds.toArray(Long[]::new);
+        String[] payable = payableStatuses.stream().map(OrderStatus::name).toArray(String[]::new);
+        LocalDateTime now = LocalDateTime.now();
+
+        return jdbcTemplate.query(APPLY, (resultSet, rowNum) -> {
+            String previousStatus = resultSet.getString("previous_status");
+            return new AppliedEvent(
+                    resultSet.getLong("id"),
+                    resultSet.getObject("received_at", LocalDateTime.class),
+                    resultSet.getObject("order_number", UUID.class),
+                    resultSet.getObject("order_id", Long.class),
+                    previousStatus != null ? OrderStatus.valueOf(previousStatus) : null
+            );
+        }, ids, payable, paidStatus.name(), now, now, ids);
+    }
+
+    public long countPending() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM payment_events WHERE status = 'PENDING'", Long.class);
+    }
+
+    public int deleteProcessedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM payment_events WHERE processed_at < ?", cutoff);
+    }
+
+    // orderId and previousStatus are null when the event was rejected
+    public record AppliedEvent(Long eventId, LocalDateTime receivedAt, UUID orderNumber, Long orderId, OrderStatus previousStatus) {
+        public boolean paid() {
+            return orderId != null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.microshop.order.repository;
+
+import com.microshop.order.entity.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class SalesReadModelRepository {
+    private static final int STRIPES = 16;
+
+    private static final String ADD_DAILY_SALES = """
+            INSERT INTO daily_sales (sales_date, currency, status, stripe, order_count, revenue)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (sales_date, currency, status, stripe) DO UPDATE
+            SET order_count = daily_sales.order_count + excluded.order_count,
+                revenue = daily_sales.revenue + excluded.revenue
+            """;
+
+    // Moves the orders between status buckets and, when they start or stop counting as sales, adds or removes their items
+    private static final String MOVE_ORDERS = """
+            WITH o AS (
+                SELECT id, created_at, created_at::date AS sales_date, currency, total_amount
+                FROM orders
+                WHERE id = ANY (?)
+            ), daily AS (
+                INSERT INTO daily_sales (sales_date, currency, status, stripe, order_count, revenue)
+                SELECT sales_date, currency, ?, ?, count(*), sum(total_amount) FROM o GROUP BY sales_date, currency
+                UNION ALL
+                SELECT sales_date, currency, ?, ?, -count(*), -sum(total_amount) FROM o GROUP BY sales_date, currency
+                ON CONFLICT (sales_date, currency, status, stripe) DO UPDATE
+                SET order_count = daily_sales.order_count + excluded.order_count,
+                    revenue = daily_sales.revenue + excluded.revenue
+            )
+            INSERT INTO product_sales (product_id, currency, stripe, units, revenue)
+            SELECT i.product_id, o.currency, ?, ? * sum(i.quantity), ? * sum(i.price * i.quantity)
+            FROM o
+            JOIN order_items i ON i.order_id = o.id AND i.order_created_at = o.created_at
+            WHERE ? <> 0
+            GROUP BY i.product_id, o.currency
+            ON CONFLICT (product_id, currency, stripe) DO UPDATE
+            SET units = product_sales.units + excluded.units,
+                revenue = product_sales.revenue + excluded.revenue
+            """;
+
+    private static final String ADD_PRODUCT_SALES = """
+            INSERT INTO product_sales (product_id, currency, stripe, units, revenue)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (product_id, currency, stripe) DO UPDATE
+            SET units = product_sales.units + excluded.units,
+                revenue = product_sales.revenue + excluded.revenue
+            """;
+
+    // What each bucket should hold minus what it holds; archived orders still count, with their items unpacked from the archive row
+    private static final String DAILY_SALES_CORRECTIONS = """
+            SELECT sales_date, currency, status,
+                   coalesce(expected.order_count, 0) - coalesce(actual.order_count, 0) AS order_count,
+                   coalesce(expected.revenue, 0) - coalesce(actual.revenue, 0) AS revenue
+            FROM (
+                SELECT created_at::date AS sales_date, currency, status, count(*) AS order_count, sum(total_amount) AS revenue
+                FROM (
+                    SELECT created_at, currency, status, total_amount FROM orders
+                    UNION ALL
+                    SELECT created_at, currency, status, total_amount FROM orders_archive
+                ) all_orders
+                GROUP BY created_at::date, currency, status
+            ) expected
+            FULL JOIN (
+                SELECT sales_date, currency, status, sum(order_count) AS order_count, sum(revenue) AS revenue
+                FROM daily_sales
+                GROUP BY sales_date, currency, status
+            ) actual USING (sales_date, currency, status)
+            WHERE coalesce(expected.order_count, 0) <> coalesce(actual.order_count, 0)
+               OR coalesce(expected.revenue, 0) <> coalesce(actual.revenue, 0)
+            """;
+
+    private static final String PRODUCT_SALES_CORRECTIONS = """
+            SELECT product_id, currency,
+                   coalesce(expected.units, 0) - coalesce(actual.units, 0) AS units,
+                   coalesce(expected.revenue, 0) - coalesce(actual.revenue, 0) AS revenue
+            FROM (
+                SELECT product_id, currency, sum(quantity) AS units, sum(price * quantity) AS revenue
+                FROM (
+                    SELECT i.product_id, o.currency, i.quantity, i.price
+                    FROM orders o
+                    JOIN order_items i ON i.order_id = o.id AND i.order_created_at = o.created_at
+                    WHERE o.status IN (%1$s)
+                    UNION ALL
+                    SELECT item.product_id, a.currency, item.quantity, item.price
+                    FROM orders_archive a
+                    CROSS JOIN jsonb_to_recordset(a.items) AS item(product_id BIGINT, quantity INTEGER, price DECIMAL(19, 2))
+                    WHERE a.status IN (%1$s)
+                ) sold
+                GROUP BY product_id, currency
+            ) expected
+            FULL JOIN (
+                SELECT product_id, currency, sum(units) AS units, sum(revenue) AS revenue
+                FROM product_sales
+                GROUP BY product_id, currency
+            ) actual USING (product_id, currency)
+            WHERE coalesce(expected.units, 0) <> coalesce(actual.units, 0)
+               OR coalesce(expected.revenue, 0) <> coalesce(actual.revenue, 0)
+            """.formatted(Arrays.stream(OrderStatus.values())
+            .filter(OrderStatus::isSale)
+            .map(status -> "'" + status.name() + "'")
+            .collect(Collectors.joining(", ")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void addOrder(LocalDate salesDate, String currency, OrderStatus status, BigDecimal total) {
+        jdbcTemplate.update(ADD_DAILY_SALES, salesDate, currency, status.name(), stripe(), 1, total);
+    }
+
+    public void adjustRevenue(LocalDate salesDate, String currency, OrderStatus status, BigDecimal delta) {
+        if (delta.signum() != 0) {
+            jdbcTemplate.update(ADD_DAILY_SALES, salesDate, currency, status.name(), stripe(), 0, delta);
+        }
+    }
+
+    public void moveOrder(Long orderId, OrderStatus from, OrderStatus to) {
+        moveOrders(List.of(orderId), from, to);
+    }
+
+    public void moveOrders(List<Long> orderIds, OrderStatus from, OrderStatus to) {
+        int saleSign = Boolean.compare(to.isSale(), from.isSale());
+        int stripe = stripe();
+        jdbcTemplate.update(MOVE_ORDERS, orderIds.toArray(Long[]::new), to.name(), stripe, from.name(), stripe, stripe, saleSign, saleSign, saleSign);
+    }
+
+    public List<DailySalesRow> findDailySales(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                        SELECT sales_date, currency, status, sum(order_count) AS order_count, sum(revenue) AS revenue
+                        FROM daily_sales
+                        WHERE sales_date BETWEEN ? AND ?
+                        GROUP BY sales_date, currency, status
+                        HAVING sum(order_count) <> 0
+                        ORDER BY sales_date, currency, status
+                        """,
+                (resultSet, rowNum) -> new DailySalesRow(
+                        resultSet.getObject("sales_date", LocalDate.class),
+                        resultSet.getString("currency"),
+                        OrderStatus.valueOf(resultSet.getString("status")),
+                        resultSet.getLong("order_count"),
+                        resultSet.getBigDecimal("revenue")
+                ),
+                from, to);
+    }
+
+    public List<ProductSalesRow> findTopProducts(String currency, int limit) {
+        return jdbcTemplate.query("""
+                        SELECT product_id, currency, sum(units) AS units, sum(revenue) AS revenue
+                        FROM product_sales
+                        WHERE currency = ?
+                        GROUP BY product_id, currency
+                        HAVING sum(units) <> 0
+                        ORDER BY sum(revenue) DESC, product_id
+                        LIMIT ?
+                        """,
+                (resultSet, rowNum) -> new ProductSalesRow(
+                        resultSet.getLong("product_id"),
+                        resultSet.getString("currency"),
+                        resultSet.getLong("units"),
+                        resultSet.getBigDecimal("revenue")
+                ),
+                currency, limit);
+    }
+
+    // Orders and their read model increments commit together, so both sides must be read from one snapshot
+    public SalesCorrections findCorrections() {
+        return new SalesCorrections(
+                jdbcTemplate.query(DAILY_SALES_CORRECTIONS, (resultSet, rowNum) -> new DailySalesRow(
+                        resultSet.getObject("sales_date", LocalDate.class),
+                        resultSet.getString("currency"),
+                        OrderStatus.valueOf(resultSet.getString("status")),
+                        resultSet.getLong("order_count"),
+                        resultSet.getBigDecimal("revenue")
+                )),
+                jdbcTemplate.query(PRODUCT_SALES_CORRECTIONS, (resultSet, rowNum) -> new ProductSalesRow(
+                        resultSet.getLong("product_id"),
+                        resultSet.getString("currency"),
+                        resultSet.getLong("units"),
+                        resultSet.getBigDecimal("revenue")
+                ))
+        );
+    }
+
+    // Corrections are added like any other increment, so increments committed since the snapshot are kept
+    public void applyCorrections(SalesCorrections corrections) {
+        jdbcTemplate.batchUpdate(ADD_DAILY_SALES, corrections.dailySales(), corrections.dailySales().size(), (statement, row) -> {
+            statement.setObject(1, row.salesDate());
+            statement.setString(2, row.currency());
+            statement.setString(3, row.status().name());
+            statement.setInt(4, stripe());
+            statement.setLong(5, row.orderCount());
+            statement.setBigDecimal(6, row.revenue());
+        });
+        jdbcTemplate.batchUpdate(ADD_PRODUCT_SALES, corrections.productSales(), corrections.productSales().size(), (statement, row) -> {
+            statement.setLong(1, row.productId());
+            statement.setString(2, row.currency());
+            statement.setInt(3, stripe());
+            statement.setLong(4, row.units());
+            statement.setBigDecimal(5, row.revenue());
+        });
+    }
+
+    private int stripe() {
+        return ThreadLocalRandom.current().nextInt(STRIPES);
+    }
+
+    public record DailySalesRow(LocalDate salesDate, String currency, OrderStatus status, long orderCount, BigDecimal revenue) {}
+
+    public record ProductSalesRow(Long productId, String currency, long units, BigDecimal revenue) {}
+
+    public record SalesCorrections(List<DailySalesRow> dailySales, List<ProductSalesRow> productSales) {}
+}
\ No newline at end of file
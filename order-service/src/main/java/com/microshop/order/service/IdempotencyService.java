@@ -0,0 +1,10 @@
+package com.microshop.order.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    <T> Result<T> execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> action);
+    void purgeExpiredKeys();
+
+    record Result<T>(T body, boolean replayed) {}
+}
\ No newline at end of file
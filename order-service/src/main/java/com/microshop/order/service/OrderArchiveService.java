@@ -0,0 +1,5 @@
+package com.microshop.order.service;
+
+public interface OrderArchiveService {
+    int archiveOrders();
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.microshop.order.service;
+
+public interface OrderExpiryService {
+    int expireAbandonedOrders();
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.microshop.order.service;
+
+public interface OrderPartitionService {
+    void createUpcomingPartitions();
+}
\ No newline at end of file
@@ -2,15 +2,23 @@ package com.microshop.order.service;
 
 import com.microshop.order.dto.OrderRequest;
 import com.microshop.order.dto.OrderResponse;
+import com.microshop.order.dto.OrderWindowResponse;
+import com.microshop.order.dto.PricedOrderRequest;
 import com.microshop.order.dto.UpdateQuantityRequest;
+import com.microshop.order.entity.OrderStatus;
 import com.microshop.order.entity.PaymentMethod;
 
+import java.time.LocalDateTime;
+import java.util.UUID;
+
 public interface OrderService {
-    OrderResponse createOrder(OrderRequest request, String customerId);
-    OrderResponse getOrderByNumber(String orderNumber);
-    void updateItemQuantity(String orderNumber, Long productId, UpdateQuantityRequest request);
-    void removeItemFromOrder(String orderNumber, Long productId);
-    void placeOrder(String orderNumber);
-    void payOrder(String orderNumber, PaymentMethod paymentMethod, String paymentId);
-    void cancelOrder(String orderNumber);
+    PricedOrderRequest priceOrder(OrderRequest request);
+    OrderResponse createOrder(PricedOrderRequest pricedRequest, String customerId);
+    OrderResponse getOrderByNumber(UUID orderNumber);
+    OrderWindowResponse getCustomerOrders(String customerId, OrderStatus status, LocalDateTime from, LocalDateTime to, int size, String cursor);
+    void updateItemQuantity(UUID orderNumber, Long productId, UpdateQuantityRequest request);
+    void removeItemFromOrder(UUID orderNumber, Long productId);
+    void placeOrder(UUID orderNumber);
+    void payOrder(UUID orderNumber, PaymentMethod paymentMethod, String paymentId);
+    void cancelOrder(UUID orderNumber);
 }
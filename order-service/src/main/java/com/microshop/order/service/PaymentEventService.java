@@ -0,0 +1,9 @@
+package com.microshop.order.service;
+
+import com.microshop.order.dto.PaymentEventRequest;
+
+public interface PaymentEventService {
+    boolean enqueue(PaymentEventRequest request);
+    int applyPendingBatch();
+    void purgeProcessedEvents();
+}
\ No newline at end of file
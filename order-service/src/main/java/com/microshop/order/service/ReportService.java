@@ -0,0 +1,14 @@
+package com.microshop.order.service;
+
+import com.microshop.order.dto.DailySalesResponse;
+import com.microshop.order.dto.ProductSalesResponse;
+import com.microshop.order.dto.SalesRebuildResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReportService {
+    List<DailySalesResponse> getDailySales(LocalDate from, LocalDate to);
+    List<ProductSalesResponse> getTopProducts(String currency, int limit);
+    SalesRebuildResponse rebuildSales();
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.microshop.order.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microshop.order.config.IdempotencyProperties;
+import com.microshop.order.exception.IdempotencyKeyMismatchException;
+import com.microshop.order.repository.IdempotencyKeyRepository;
+import com.microshop.order.repository.IdempotencyKeyRepository.StoredResponse;
+import com.microshop.order.service.IdempotencyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private final IdempotencyKeyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final Cache<ScopedKey, StoredResponse> completedResponses;
+
+    public IdempotencyServiceImpl(IdempotencyKeyRepository repository, ObjectMapper objectMapper, IdempotencyProperties properties) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.completedResponses = Caffeine.newBuilder()
+                .maximumSize(properties.cacheMaximumSize())
+                .expireAfterWrite(properties.ttl())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public <T> Result<T> execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return new Result<>(action.get(), false);
+        }
+
+        ScopedKey scopedKey = new ScopedKey(scope, key);
+        String requestHash = hash(request);
+
+        // Retries handled by this instance before are answered without touching the database
+        StoredResponse cached = completedResponses.getIfPresent(scopedKey);
+        if (cached != null) {
+            return replay(key, requestHash, cached, responseType);
+        }
+
+        // A concurrent request holding the same key blocks this insert until it commits or rolls back
+        if (!repository.claim(scope, key, requestHash, Instant.now().plus(properties.ttl()))) {
+            StoredResponse stored = repository.find(scope, key)
+                    .orElseThrow(() -> new IllegalStateException("Idempotency key " + key + " is neither claimable nor stored"));
+            completedResponses.put(scopedKey, stored);
+            return replay(key, requestHash, stored, responseType);
+        }
+
+        T response = action.get();
+        StoredResponse completed = new StoredResponse(requestHash, toJson(response));
+        repository.complete(scope, key, completed.responseBody());
+        afterCommit(() -> completedResponses.put(scopedKey, completed));
+
+        return new Result<>(response, false);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${order.idempotency.purge-interval:1h}")
+    public void purgeExpiredKeys() {
+        int deleted = repository.deleteExpired();
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private <T> Result<T> replay(String key, String requestHash, StoredResponse stored, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException(key);
+        }
+
+        try {
+            return new Result<>(objectMapper.readValue(stored.responseBody(), responseType), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored response for idempotency key " + key, e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store response for idempotent request", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint idempotent request", e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record ScopedKey(String scope, String key) {}
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.microshop.order.service.impl;
+
+import com.microshop.order.config.OrderArchiveProperties;
+import com.microshop.order.repository.OrderArchiveRepository;
+import com.microshop.order.repository.OrderPartitionRepository;
+import com.microshop.order.service.OrderArchiveService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Service
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+    private final OrderArchiveRepository archiveRepository;
+    private final OrderPartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderArchiveProperties properties;
+    private final Counter archived;
+    private final Counter droppedPartitions;
+    private final Timer runs;
+
+    public OrderArchiveServiceImpl(
+            OrderArchiveRepository archiveRepository,
+            OrderPartitionRepository partitionRepository,
+            TransactionTemplate transactionTemplate,
+            OrderArchiveProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.archiveRepository = archiveRepository;
+        this.partitionRepository = partitionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.archived = Counter.builder("orders.archived")
+                .description("Delivered and cancelled orders moved to the archive")
+                .register(meterRegistry);
+        this.droppedPartitions = Counter.builder("orders.partitions.dropped")
+                .description("Monthly order partitions dropped after archival emptied them")
+                .register(meterRegistry);
+        this.runs = Timer.builder("orders.archive.run")
+                .description("Duration of order archival runs")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${order.archive.run-interval:1h}")
+    public int archiveOrders() {
+        if (!properties.enabled()) {
+            return 0;
+        }
+        return runs.record(this::archive);
+    }
+
+    private int archive() {
+        // Whole months are archived at once, so a run leaves their partitions empty and ready to drop
+        LocalDate cutoff = LocalDate.now().minus(properties.archiveAfter()).withDayOfMonth(1);
+        int total = 0;
+
+        for (int batch = 0; batch < properties.maxBatchesPerRun(); batch++) {
+            int count = transactionTemplate.execute(status -> archiveRepository.archive(cutoff.atStartOfDay(), properties.batchSize()));
+            total += count;
+            archived.increment(count);
+            if (count < properties.batchSize() || !pause()) {
+                break;
+            }
+        }
+
+        // Months still holding orders that never finished are kept until they do
+        int dropped = transactionTemplate.execute(status -> partitionRepository.dropEmptyPartitions(cutoff));
+        droppedPartitions.increment(dropped);
+        if (total > 0 || dropped > 0) {
+            log.info("Archived {} orders created before {}, dropped {} emptied monthly partitions", total, cutoff, dropped);
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.batchPause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
\ No newline at end of file
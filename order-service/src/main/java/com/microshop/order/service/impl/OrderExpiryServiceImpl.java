@@ -0,0 +1,132 @@
+package com.microshop.order.service.impl;
+
+import com.microshop.order.client.InventoryClient;
+import com.microshop.order.config.OrderExpiryProperties;
+import com.microshop.order.entity.OrderStatus;
+import com.microshop.order.entity.OrderTransition;
+import com.microshop.order.repository.OrderJdbcRepository;
+import com.microshop.order.repository.OrderJdbcRepository.ExpiredOrder;
+import com.microshop.order.repository.SalesReadModelRepository;
+import com.microshop.order.service.OrderExpiryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class OrderExpiryServiceImpl implements OrderExpiryService {
+    private final OrderJdbcRepository jdbcRepository;
+    private final SalesReadModelRepository salesReadModel;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryClient inventoryClient;
+    private final OrderExpiryProperties properties;
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter expired;
+    private final Timer sweeps;
+
+    public OrderExpiryServiceImpl(
+            OrderJdbcRepository jdbcRepository,
+            SalesReadModelRepository salesReadModel,
+            TransactionTemplate transactionTemplate,
+            InventoryClient inventoryClient,
+            OrderExpiryProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.jdbcRepository = jdbcRepository;
+        this.salesReadModel = salesReadModel;
+        this.transactionTemplate = transactionTemplate;
+        this.inventoryClient = inventoryClient;
+        this.properties = properties;
+        this.expired = Counter.builder("orders.expired")
+                .description("Unpaid orders cancelled by the abandoned order sweep")
+                .register(meterRegistry);
+        this.sweeps = Timer.builder("orders.expiry.sweep")
+                .description("Duration of abandoned order sweeps")
+                .register(meterRegistry);
+        Gauge.builder("orders.abandoned.backlog", backlog, AtomicLong::get)
+                .description("Unpaid orders past the expiry threshold after the last sweep")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${order.expiry.sweep-interval:1m}")
+    public int expireAbandonedOrders() {
+        if (!properties.enabled()) {
+            return 0;
+        }
+        return sweeps.record(this::sweep);
+    }
+
+    private int sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.abandonedAfter());
+        int total = 0;
+
+        // Each batch commits on its own, so row locks are held briefly and the pause between batches caps the load
+        for (int batch = 0; batch < properties.maxBatchesPerSweep(); batch++) {
+            List<ExpiredOrder> orders = transactionTemplate.execute(status -> expireBatch(cutoff));
+            releaseStock(orders);
+            int count = orders.size();
+            total += count;
+            expired.increment(count);
+            if (count < properties.batchSize() || !pause()) {
+                break;
+            }
+        }
+
+        backlog.set(jdbcRepository.countAbandoned(cutoff));
+        if (total > 0) {
+            log.info("Expired {} abandoned orders older than {}, {} left", total, cutoff, backlog.get());
+        }
+        return total;
+    }
+
+    private List<ExpiredOrder> expireBatch(LocalDateTime cutoff) {
+        List<ExpiredOrder> orders = jdbcRepository.expireAbandoned(cutoff, properties.batchSize());
+
+        Map<OrderStatus, List<Long>> byStatus = orders.stream().collect(Collectors.groupingBy(
+                ExpiredOrder::previousStatus,
+                Collectors.mapping(ExpiredOrder::id, Collectors.toList())
+        ));
+        byStatus.forEach((from, ids) -> salesReadModel.moveOrders(ids, from, OrderTransition.EXPIRE.target()));
+
+        return orders;
+    }
+
+    private void releaseStock(List<ExpiredOrder> orders) {
+        // Only placed orders hold a stock reservation
+        List<UUID> placed = orders.stream()
+                .filter(order -> order.previousStatus() == OrderStatus.PLACED)
+                .map(ExpiredOrder::orderNumber)
+                .toList();
+        if (placed.isEmpty()) {
+            return;
+        }
+        try {
+            inventoryClient.release(placed);
+        } catch (RuntimeException e) {
+            log.error("Could not release stock of {} expired orders", placed.size(), e);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.batchPause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
\ No newline at end of file
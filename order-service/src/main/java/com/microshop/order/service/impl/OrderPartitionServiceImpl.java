@@ -0,0 +1,34 @@
+package com.microshop.order.service.impl;
+
+import com.microshop.order.config.OrderPartitionProperties;
+import com.microshop.order.repository.OrderPartitionRepository;
+import com.microshop.order.service.OrderPartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderPartitionServiceImpl implements OrderPartitionService {
+    private final OrderPartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderPartitionProperties properties;
+
+    // Runs at startup and then periodically, so the partitions of the coming months exist long before their first order
+    @Override
+    @Scheduled(fixedDelayString = "${order.partitions.maintenance-interval:6h}")
+    public void createUpcomingPartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        // Scheduled runs have no surrounding transaction, and with auto-commit off the DDL would never be committed
+        for (int ahead = 0; ahead <= properties.monthsAhead(); ahead++) {
+            LocalDate partitionMonth = month.plusMonths(ahead);
+            transactionTemplate.executeWithoutResult(status -> partitionRepository.createPartitions(partitionMonth));
+        }
+        log.debug("Order partitions ensured from {} for {} months ahead", month, properties.monthsAhead());
+    }
+}
\ No newline at end of file
@@ -1,19 +1,47 @@
 package com.microshop.order.service.impl;
 
+import com.microshop.order.client.CatalogProduct;
+import com.microshop.order.client.InventoryClient;
+import com.microshop.order.client.ProductCatalogClient;
+import com.microshop.order.client.StockReservationItem;
+import com.microshop.order.dto.OrderItemRequest;
 import com.microshop.order.dto.OrderRequest;
 import com.microshop.order.dto.OrderResponse;
+import com.microshop.order.dto.OrderSummaryResponse;
+import com.microshop.order.dto.OrderWindowResponse;
+import com.microshop.order.dto.PricedOrderRequest;
 import com.microshop.order.dto.UpdateQuantityRequest;
 import com.microshop.order.entity.Order;
 import com.microshop.order.entity.OrderItem;
+import com.microshop.order.entity.OrderStatus;
+import com.microshop.order.entity.OrderTransition;
 import com.microshop.order.entity.PaymentMethod;
+import com.microshop.order.exception.IllegalOrderTransitionException;
+import com.microshop.order.exception.OrderNotFoundException;
+import com.microshop.order.id.OrderNumberGenerator;
 import com.microshop.order.mapper.OrderMapper;
+import com.microshop.order.monitoring.OrderMetrics;
+import com.microshop.order.pagination.OrderCursor;
+import com.microshop.order.pagination.OrderCursorCodec;
+import com.microshop.order.repository.OrderArchiveRepository;
+import com.microshop.order.repository.OrderJdbcRepository;
+import com.microshop.order.repository.OrderJdbcRepository.OrderSummaryRow;
+import com.microshop.order.repository.OrderJdbcRepository.TransitionResult;
 import com.microshop.order.repository.OrderRepository;
+import com.microshop.order.repository.SalesReadModelRepository;
 import com.microshop.order.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -21,14 +49,39 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
     private final OrderRepository repository;
+    private final OrderJdbcRepository jdbcRepository;
+    private final OrderArchiveRepository archiveRepository;
+    private final OrderCursorCodec cursorCodec;
     private final OrderMapper mapper;
+    private final ProductCatalogClient catalogClient;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final SalesReadModelRepository salesReadModel;
+    private final InventoryClient inventoryClient;
+    private final OrderMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
+
+    // Not transactional, so no connection is held while the catalog is consulted
+    @Override
+    public PricedOrderRequest priceOrder(OrderRequest request) {
+        Map<Long, CatalogProduct> products = catalogClient.getProducts(
+                request.items().stream().map(OrderItemRequest::productId).toList()
+        );
+        return new PricedOrderRequest(request, products);
+    }
 
     @Override
     @Transactional
-    public OrderResponse createOrder(OrderRequest request, String customerId) {
-        String orderNumber = generateOrderNumber();
+    public OrderResponse createOrder(PricedOrderRequest pricedRequest, String customerId) {
+        OrderRequest request = pricedRequest.request();
+        Map<Long, CatalogProduct> products = pricedRequest.products();
+        UUID orderNumber = orderNumberGenerator.next();
+
         Order order = mapper.toEntity(request, customerId, orderNumber);
-        Order savedOrder = repository.save(order);
+        request.items().forEach(item -> order.addOrderItem(mapper.toOrderItemEntity(item, products.get(item.productId()))));
+        // Flushed here because created_at is only assigned on insert and decides the sales day
+        Order savedOrder = repository.saveAndFlush(order);
+        salesReadModel.addOrder(savedOrder.getCreatedAt().toLocalDate(), savedOrder.getCurrency(), savedOrder.getStatus(), savedOrder.getTotalAmount());
+        metrics.orderCreated();
 
         log.info("Order created with number: {} for customer: {}", orderNumber, customerId);
 
@@ -37,16 +90,41 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(readOnly = true)
-    public OrderResponse getOrderByNumber(String orderNumber) {
-        Order order = getOrderEntityOrThrow(orderNumber);
-        return mapper.toResponse(order);
+    public OrderResponse getOrderByNumber(UUID orderNumber) {
+        return repository.findByOrderNumber(orderNumber)
+                .map(mapper::toResponse)
+                .or(() -> archiveRepository.findOrder(orderNumber))
+                .orElseThrow(() -> new OrderNotFoundException(orderNumber));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderWindowResponse getCustomerOrders(String customerId, OrderStatus status, LocalDateTime from, LocalDateTime to, int size, String cursor) {
+        OrderCursor after = cursor != null ? cursorCodec.decode(cursor) : null;
+        List<OrderSummaryRow> rows = jdbcRepository.findCustomerOrders(customerId, status, from, to, after, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<OrderSummaryRow> window = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            OrderSummaryRow last = window.getLast();
+            nextCursor = cursorCodec.encode(new OrderCursor(last.summary().createdAt(), last.id()));
+        }
+
+        List<OrderSummaryResponse> content = window.stream()
+                .map(OrderSummaryRow::summary)
+                .toList();
+        return new OrderWindowResponse(content, content.size(), hasNext, nextCursor);
     }
 
     @Override
     @Transactional
-    public void updateItemQuantity(String orderNumber, Long productId, UpdateQuantityRequest request) {
+    public void updateItemQuantity(UUID orderNumber, Long productId, UpdateQuantityRequest request) {
         Order order = getOrderEntityOrThrow(orderNumber);
+        BigDecimal previousTotal = order.getTotalAmount();
         order.updateItemQuantity(productId, request.quantity());
+        adjustSales(order, previousTotal);
 
         OrderItem updatedItem = order.getOrderItems().stream()
                 .filter(item -> item.getProductId().equals(productId))
@@ -62,7 +140,7 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional
-    public void removeItemFromOrder(String orderNumber, Long productId) {
+    public void removeItemFromOrder(UUID orderNumber, Long productId) {
         Order order = getOrderEntityOrThrow(orderNumber);
 
         OrderItem itemToRemove = order.getOrderItems().stream()
@@ -70,45 +148,123 @@ public class OrderServiceImpl implements OrderService {
                 .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Item with product ID " + productId + " not found in order"));
 
+        BigDecimal previousTotal = order.getTotalAmount();
         order.removeOrderItem(itemToRemove);
+        adjustSales(order, previousTotal);
 
         log.info("Product {} was removed from order {}. New total: {}", productId, orderNumber, order.getTotalAmount());
     }
 
+    // Not transactional: stock is reserved before the order transaction opens, so no row lock or connection is held across the inventory call
     @Override
-    @Transactional
-    public void placeOrder(String orderNumber) {
-        Order order = getOrderEntityOrThrow(orderNumber);
-        order.place();
+    public void placeOrder(UUID orderNumber) {
+        // An order that cannot be placed reserves nothing and is rejected by the transition below
+        List<StockReservationItem> items = jdbcRepository.findStatus(orderNumber)
+                .filter(OrderTransition.PLACE::isAllowedFrom)
+                .map(status -> reservationItems(orderNumber))
+                .orElse(List.of());
+        boolean reserved = !items.isEmpty() && inventoryClient.reserve(orderNumber, items);
+        try {
+            transactionTemplate.executeWithoutResult(status -> place(orderNumber, items));
+        } catch (RuntimeException e) {
+            // A reservation made by this call is handed back if the order is not placed
+            if (reserved) {
+                releaseStock(orderNumber);
+            }
+            throw e;
+        }
 
         log.info("Order {} was placed successfully", orderNumber);
     }
 
+    private void place(UUID orderNumber, List<StockReservationItem> reservedItems) {
+        // The order is locked before its items are read again, so the items placed are the items reserved
+        if (jdbcRepository.lockOrder(orderNumber).filter(OrderTransition.PLACE::isAllowedFrom).isPresent()
+                && !reservationItems(orderNumber).equals(reservedItems)) {
+            throw new IllegalOrderTransitionException("Order items changed while stock was being reserved");
+        }
+        transition(orderNumber, OrderTransition.PLACE, null, null);
+    }
+
+    private List<StockReservationItem> reservationItems(UUID orderNumber) {
+        return jdbcRepository.findItemQuantities(orderNumber).stream()
+                .map(item -> new StockReservationItem(item.productId(), item.quantity()))
+                .toList();
+    }
+
+    private void releaseStock(UUID orderNumber) {
+        try {
+            inventoryClient.release(List.of(orderNumber));
+        } catch (RuntimeException e) {
+            log.error("Could not release stock of order {} that was not placed", orderNumber, e);
+        }
+    }
+
     @Override
     @Transactional
-    public void payOrder(String orderNumber, PaymentMethod paymentMethod, String paymentId) {
-        Order order = getOrderEntityOrThrow(orderNumber);
-        order.assignPayment(paymentMethod, paymentId);
-        order.pay();
+    public void payOrder(UUID orderNumber, PaymentMethod paymentMethod, String paymentId) {
+        if (paymentMethod == null) {
+            throw new IllegalStateException("Payment method must be selected before paying");
+        }
+        if (paymentId == null || paymentId.isBlank()) {
+            throw new IllegalStateException("Payment must be authorized (paymentId is missing)");
+        }
+        transition(orderNumber, OrderTransition.PAY, paymentMethod, paymentId);
+        afterCompletion(TransactionSynchronization.STATUS_COMMITTED, () -> inventoryClient.commit(List.of(orderNumber)));
 
         log.info("Order {} was marked as paid. PaymentMethod: {}, PaymentID: {}", orderNumber, paymentMethod, paymentId);
     }
 
     @Override
     @Transactional
-    public void cancelOrder(String orderNumber) {
-        Order order = getOrderEntityOrThrow(orderNumber);
-        order.cancel();
+    public void cancelOrder(UUID orderNumber) {
+        OrderStatus previousStatus = transition(orderNumber, OrderTransition.CANCEL, null, null);
+        if (previousStatus != OrderStatus.CREATED) {
+            afterCompletion(TransactionSynchronization.STATUS_COMMITTED, () -> inventoryClient.release(List.of(orderNumber)));
+        }
         log.info("Order {} was cancelled", orderNumber);
     }
 
-    private Order getOrderEntityOrThrow(String orderNumber) {
-        return repository.findByOrderNumber(orderNumber).orElseThrow(
-                () -> new IllegalArgumentException("Order not found: " + orderNumber)
-        );
+    private OrderStatus transition(UUID orderNumber, OrderTransition transition, PaymentMethod paymentMethod, String paymentId) {
+        // Status-only changes go through a single conditional UPDATE instead of loading the order with its items
+        TransitionResult result = jdbcRepository.transition(orderNumber, transition, paymentMethod, paymentId)
+                .orElseThrow(() -> new OrderNotFoundException(orderNumber));
+
+        if (!result.transitioned()) {
+            if (transition.isAllowedFrom(result.previousStatus()) && !result.hasItems()) {
+                throw new IllegalOrderTransitionException("Order must contain at least one item");
+            }
+            throw new IllegalOrderTransitionException(transition.rejectionMessage(result.previousStatus()));
+        }
+        salesReadModel.moveOrder(result.orderId(), result.previousStatus(), transition.target());
+        metrics.transitioned(transition, 1);
+        return result.previousStatus();
+    }
+
+    private void adjustSales(Order order, BigDecimal previousTotal) {
+        salesReadModel.adjustRevenue(order.getCreatedAt().toLocalDate(), order.getCurrency(), order.getStatus(), order.getTotalAmount().subtract(previousTotal));
+    }
+
+    // Stock calls are not part of the order transaction, so they follow its outcome; a failed call is logged and left to reconcile
+    private void afterCompletion(int outcome, Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != outcome) {
+                    return;
+                }
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    log.error("Stock reservation update failed after order transaction completed", e);
+                }
+            }
+        });
     }
 
-    private String generateOrderNumber() {
-        return UUID.randomUUID().toString();
+    private Order getOrderEntityOrThrow(UUID orderNumber) {
+        return repository.findByOrderNumber(orderNumber).orElseThrow(
+                () -> new OrderNotFoundException(orderNumber)
+        );
     }
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.microshop.order.service.impl;
+
+import com.microshop.order.client.InventoryClient;
+import com.microshop.order.config.PaymentEventProperties;
+import com.microshop.order.dto.PaymentEventRequest;
+import com.microshop.order.entity.OrderStatus;
+import com.microshop.order.entity.OrderTransition;
+import com.microshop.order.monitoring.OrderMetrics;
+import com.microshop.order.repository.PaymentEventRepository;
+import com.microshop.order.repository.PaymentEventRepository.AppliedEvent;
+import com.microshop.order.repository.SalesReadModelRepository;
+import com.microshop.order.service.PaymentEventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class PaymentEventServiceImpl implements PaymentEventService {
+    private final PaymentEventRepository repository;
+    private final SalesReadModelRepository salesReadModel;
+    private final InventoryClient inventoryClient;
+    private final OrderMetrics orderMetrics;
+    private final PaymentEventProperties properties;
+    private final Counter received;
+    private final Counter duplicates;
+    private final Counter applied;
+    private final Counter rejected;
+    private final Timer applyLatency;
+
+    public PaymentEventServiceImpl(
+            PaymentEventRepository repository,
+            SalesReadModelRepository salesReadModel,
+            InventoryClient inventoryClient,
+            OrderMetrics orderMetrics,
+            PaymentEventProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.repository = repository;
+        this.salesReadModel = salesReadModel;
+        this.inventoryClient = inventoryClient;
+        this.orderMetrics = orderMetrics;
+        this.properties = properties;
+        this.received = counter(meterRegistry, "payment.events.received", "result", "enqueued");
+        this.duplicates = counter(meterRegistry, "payment.events.received", "result", "duplicate");
+        this.applied = counter(meterRegistry, "payment.events.processed", "result", "applied");
+        this.rejected = counter(meterRegistry, "payment.events.processed", "result", "rejected");
+        this.applyLatency = Timer.builder("payment.events.apply.latency")
+                .description("Time from receiving a payment event to applying it to its order")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("payment.events.queue.depth", repository, PaymentEventRepository::countPending)
+                .description("Payment events waiting to be applied")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public boolean enqueue(PaymentEventRequest request) {
+        boolean enqueued = repository.enqueue(request.orderNumber(), request.paymentMethod(), request.paymentId());
+        (enqueued ? received : duplicates).increment();
+        return enqueued;
+    }
+
+    @Override
+    @Transactional
+    public int applyPendingBatch() {
+        List<Long> batch = repository.claim(properties.batchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<AppliedEvent> events = repository.apply(batch, OrderTransition.PAY.allowedFrom(), OrderTransition.PAY.target());
+
+        Map<OrderStatus, List<Long>> paidByStatus = events.stream()
+                .filter(AppliedEvent::paid)
+                .collect(Collectors.groupingBy(AppliedEvent::previousStatus, Collectors.mapping(AppliedEvent::orderId, Collectors.toList())));
+        paidByStatus.forEach((from, orderIds) -> salesReadModel.moveOrders(orderIds, from, OrderTransition.PAY.target()));
+        List<UUID> paidOrders = events.stream().filter(AppliedEvent::paid).map(AppliedEvent::orderNumber).toList();
+        orderMetrics.transitioned(OrderTransition.PAY, paidOrders.size());
+        commitStockAfterCommit(paidOrders);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (AppliedEvent event : events) {
+            (event.paid() ? applied : rejected).increment();
+            applyLatency.record(Duration.between(event.receivedAt(), now));
+        }
+
+        long rejectedCount = events.stream().filter(event -> !event.paid()).count();
+        if (rejectedCount > 0) {
+            log.warn("Rejected {} of {} payment events for orders that are missing or not payable", rejectedCount, events.size());
+        }
+        return events.size();
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${order.payment-events.purge-interval:1h}")
+    public void purgeProcessedEvents() {
+        int deleted = repository.deleteProcessedBefore(LocalDateTime.now().minus(properties.retention()));
+        if (deleted > 0) {
+            log.info("Purged {} processed payment events", deleted);
+        }
+    }
+
+    private void commitStockAfterCommit(List<UUID> paidOrders) {
+        if (paidOrders.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    inventoryClient.commit(paidOrders);
+                } catch (RuntimeException e) {
+                    log.error("Could not commit stock reservations of {} paid orders", paidOrders.size(), e);
+                }
+            }
+        });
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String tag, String value) {
+        return Counter.builder(name).tag(tag, value).register(meterRegistry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.microshop.order.service.impl;
+
+import com.microshop.order.dto.DailySalesResponse;
+import com.microshop.order.dto.ProductSalesResponse;
+import com.microshop.order.dto.SalesRebuildResponse;
+import com.microshop.order.entity.OrderStatus;
+import com.microshop.order.repository.SalesReadModelRepository;
+import com.microshop.order.repository.SalesReadModelRepository.DailySalesRow;
+import com.microshop.order.repository.SalesReadModelRepository.SalesCorrections;
+import com.microshop.order.service.ReportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class ReportServiceImpl implements ReportService {
+    private final SalesReadModelRepository salesReadModel;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTemplate;
+
+    public ReportServiceImpl(SalesReadModelRepository salesReadModel, PlatformTransactionManager transactionManager) {
+        this.salesReadModel = salesReadModel;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailySalesResponse> getDailySales(LocalDate from, LocalDate to) {
+        // Rows arrive ordered by day and currency, one per status
+        Map<List<Object>, List<DailySalesRow>> days = new LinkedHashMap<>();
+        for (DailySalesRow row : salesReadModel.findDailySales(from, to)) {
+            days.computeIfAbsent(List.of(row.salesDate(), row.currency()), key -> new ArrayList<>()).add(row);
+        }
+
+        return days.values().stream()
+                .map(this::toDailySales)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductSalesResponse> getTopProducts(String currency, int limit) {
+        return salesReadModel.findTopProducts(currency, limit).stream()
+                .map(row -> new ProductSalesResponse(row.productId(), row.currency(), row.units(), row.revenue()))
+                .toList();
+    }
+
+    @Override
+    public SalesRebuildResponse rebuildSales() {
+        // No table lock: the drift is measured on a snapshot and applied afterwards as increments, so checkouts keep writing throughout
+        SalesCorrections corrections = snapshotTemplate.execute(status -> salesReadModel.findCorrections());
+        transactionTemplate.executeWithoutResult(status -> salesReadModel.applyCorrections(corrections));
+
+        log.info("Sales read model rebuilt: {} daily sales rows, {} product sales rows corrected", corrections.dailySales().size(), corrections.productSales().size());
+
+        return new SalesRebuildResponse(corrections.dailySales().size(), corrections.productSales().size());
+    }
+
+    private DailySalesResponse toDailySales(List<DailySalesRow> rows) {
+        Map<OrderStatus, Long> ordersByStatus = new EnumMap<>(OrderStatus.class);
+        long orders = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (DailySalesRow row : rows) {
+            ordersByStatus.put(row.status(), row.orderCount());
+            orders += row.orderCount();
+            if (row.status().isSale()) {
+                revenue = revenue.add(row.revenue());
+            }
+        }
+
+        DailySalesRow first = rows.getFirst();
+        return new DailySalesResponse(first.salesDate(), first.currency(), orders, revenue, ordersByStatus);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.microshop.order.worker;
+
+import com.microshop.order.config.PaymentEventProperties;
+import com.microshop.order.service.PaymentEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentEventWorkers implements SmartLifecycle {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final PaymentEventService service;
+    private final PaymentEventProperties properties;
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    @Override
+    public synchronized void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        running = true;
+        executor = Executors.newFixedThreadPool(properties.workers(), Thread.ofPlatform().name("payment-events-", 0).factory());
+        for (int i = 0; i < properties.workers(); i++) {
+            executor.execute(this::work);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        // Workers finish the batch they hold so its transaction commits instead of being cut off
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void work() {
+        while (running) {
+            try {
+                // A full batch means more events are waiting, so the next one is claimed without a pause
+                if (service.applyPendingBatch() < properties.batchSize()) {
+                    Thread.sleep(properties.pollInterval());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Could not apply payment events, retrying in {}", properties.pollInterval(), e);
+                try {
+                    Thread.sleep(properties.pollInterval());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+-- Delivered and cancelled orders past order.archive.archive-after are moved here, one row per order with its items
+-- packed into JSONB, which lets the monthly partitions they leave empty be dropped
+CREATE TABLE orders_archive (
+    id BIGINT PRIMARY KEY,
+    order_number UUID NOT NULL UNIQUE,
+    customer_id VARCHAR(255) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    payment_method VARCHAR(50),
+    payment_id VARCHAR(255),
+    currency VARCHAR(3) NOT NULL,
+    total_amount DECIMAL(19, 2) NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITHOUT TIME ZONE,
+    archived_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    items JSONB NOT NULL
+);
+
+-- Archived orders stay in the customer order history
+CREATE INDEX idx_orders_archive_customer_created_id ON orders_archive (customer_id, created_at, id);
+
+-- Serves the archival job, which takes the oldest finished orders first
+CREATE INDEX idx_orders_archivable ON orders (created_at) WHERE status IN ('DELIVERED', 'CANCELLED');
\ No newline at end of file
@@ -0,0 +1,3 @@
+-- Serves the customer order history keyset scan; the included columns let list pages be read from the index alone
+CREATE INDEX idx_orders_customer_created_id ON orders (customer_id, created_at, id)
+    INCLUDE (order_number, status, total_amount, currency);
@@ -0,0 +1 @@
+ALTER TABLE orders ALTER COLUMN order_number TYPE uuid USING order_number::uuid;
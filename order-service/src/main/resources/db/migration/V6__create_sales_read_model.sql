@@ -0,0 +1,20 @@
+-- Incrementally maintained by order-service; each order bumps one randomly chosen stripe so concurrent checkouts do not
+-- queue on the same row. Readers sum over stripes. POST /api/v1/reports/sales/rebuild reconciles both tables with orders.
+CREATE TABLE daily_sales (
+    sales_date DATE NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    stripe SMALLINT NOT NULL,
+    order_count BIGINT NOT NULL,
+    revenue DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (sales_date, currency, status, stripe)
+);
+
+CREATE TABLE product_sales (
+    product_id BIGINT NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    stripe SMALLINT NOT NULL,
+    units BIGINT NOT NULL,
+    revenue DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (product_id, currency, stripe)
+);
\ No newline at end of file
@@ -0,0 +1,2 @@
+-- Serves the abandoned order sweep; only unpaid orders are indexed, so it stays small as the sweep drains them
+CREATE INDEX idx_orders_abandoned ON orders (updated_at) WHERE status IN ('CREATED', 'PLACED');
\ No newline at end of file
@@ -0,0 +1,15 @@
+-- Inbox for payment confirmations; payment_id is unique so redelivered webhooks are dropped on insert
+CREATE TABLE payment_events (
+    id BIGSERIAL PRIMARY KEY,
+    payment_id VARCHAR(255) NOT NULL UNIQUE,
+    order_number UUID NOT NULL,
+    payment_method VARCHAR(50) NOT NULL,
+    status VARCHAR(50) NOT NULL DEFAULT 'PENDING',
+    received_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+-- Workers scan only pending events, oldest first, and look up earlier pending events of the same order
+CREATE INDEX idx_payment_events_pending ON payment_events (order_number, id) WHERE status = 'PENDING';
+CREATE INDEX idx_payment_events_pending_id ON payment_events (id) WHERE status = 'PENDING';
+CREATE INDEX idx_payment_events_processed_at ON payment_events (processed_at);
\ No newline at end of file
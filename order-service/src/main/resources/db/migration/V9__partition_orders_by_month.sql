@@ -0,0 +1,145 @@
+-- orders and order_items are range partitioned by the month an order was created in, so vacuum, index maintenance and
+-- archival work one month at a time. Items carry their order's created_at as partition key and live in the same month.
+-- OrderPartitionService creates partitions months ahead; the default partitions only catch rows outside them.
+
+-- An order was created within a day of the time its UUIDv7 number encodes, whatever the session time zone, so lookups
+-- bounded by these two functions only visit the partitions of that day. UUIDv4 numbers issued before V5 are unbounded.
+CREATE FUNCTION order_created_from(order_number UUID) RETURNS TIMESTAMP WITHOUT TIME ZONE
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+    SELECT CASE WHEN substr(order_number::text, 15, 1) = '7'
+        THEN 'epoch'::timestamp
+            + ('x' || substr(order_number::text, 1, 8) || substr(order_number::text, 10, 4))::bit(48)::bigint * interval '1 millisecond'
+            - interval '1 day'
+        ELSE '-infinity'::timestamp
+    END
+$$;
+
+CREATE FUNCTION order_created_to(order_number UUID) RETURNS TIMESTAMP WITHOUT TIME ZONE
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+    SELECT CASE WHEN substr(order_number::text, 15, 1) = '7'
+        THEN 'epoch'::timestamp
+            + ('x' || substr(order_number::text, 1, 8) || substr(order_number::text, 10, 4))::bit(48)::bigint * interval '1 millisecond'
+            + interval '1 day'
+        ELSE 'infinity'::timestamp
+    END
+$$;
+
+-- Creates the partitions of both tables for the month containing the given day, unless they exist
+CREATE FUNCTION create_order_partitions(day DATE) RETURNS VOID
+    LANGUAGE plpgsql AS $$
+DECLARE
+    month_start DATE := date_trunc('month', day);
+    month_end DATE := date_trunc('month', day) + interval '1 month';
+    suffix TEXT := to_char(day, 'YYYY_MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                   'orders_' || suffix, month_start, month_end);
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF order_items FOR VALUES FROM (%L) TO (%L)',
+                   'order_items_' || suffix, month_start, month_end);
+END
+$$;
+
+-- Drops the partitions of months before the given day that archival has emptied and returns how many months it dropped
+CREATE FUNCTION drop_empty_order_partitions(before DATE) RETURNS INTEGER
+    LANGUAGE plpgsql AS $$
+DECLARE
+    suffix TEXT;
+    has_orders BOOLEAN;
+    dropped INTEGER := 0;
+BEGIN
+    FOR suffix IN
+        SELECT substr(c.relname, length('orders_') + 1)
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'orders'::regclass
+          AND c.relname ~ '^orders_\d{4}_\d{2}$'
+          AND to_date(substr(c.relname, length('orders_') + 1), 'YYYY_MM') + interval '1 month' <= before
+        ORDER BY 1
+    LOOP
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', 'orders_' || suffix) INTO has_orders;
+        CONTINUE WHEN has_orders;
+        -- Detaching first removes the foreign key's hold on the order partition
+        EXECUTE format('ALTER TABLE order_items DETACH PARTITION %I', 'order_items_' || suffix);
+        EXECUTE format('DROP TABLE %I', 'order_items_' || suffix);
+        EXECUTE format('ALTER TABLE orders DETACH PARTITION %I', 'orders_' || suffix);
+        EXECUTE format('DROP TABLE %I', 'orders_' || suffix);
+        dropped := dropped + 1;
+    END LOOP;
+    RETURN dropped;
+END
+$$;
+
+-- Not an online migration: from the first rename until the commit, orders and order_items are locked exclusively while
+-- every row is copied and the indexes are rebuilt, so order reads and writes wait for all of it. See "Upgrading an
+-- existing database to partitioned orders" in README.md. Rather than queue behind a long transaction, and every order
+-- query behind it, the migration gives up and can simply be retried
+SET LOCAL lock_timeout = '10s';
+
+ALTER TABLE order_items RENAME TO order_items_unpartitioned;
+ALTER TABLE orders RENAME TO orders_unpartitioned;
+ALTER SEQUENCE orders_id_seq OWNED BY NONE;
+ALTER SEQUENCE order_items_id_seq OWNED BY NONE;
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL DEFAULT nextval('orders_id_seq'),
+    order_number UUID NOT NULL,
+    customer_id VARCHAR(255) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    payment_method VARCHAR(50),
+    payment_id VARCHAR(255),
+    currency VARCHAR(3) NOT NULL DEFAULT 'PLN',
+    total_amount DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITHOUT TIME ZONE DEFAULT CURRENT_TIMESTAMP
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE order_items (
+    id BIGINT NOT NULL DEFAULT nextval('order_items_id_seq'),
+    order_id BIGINT NOT NULL,
+    order_created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    product_id BIGINT NOT NULL,
+    sku VARCHAR(255) NOT NULL,
+    price DECIMAL(19, 2) NOT NULL,
+    quantity INTEGER NOT NULL
+) PARTITION BY RANGE (order_created_at);
+
+ALTER SEQUENCE orders_id_seq OWNED BY orders.id;
+ALTER SEQUENCE order_items_id_seq OWNED BY order_items.id;
+
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+CREATE TABLE order_items_default PARTITION OF order_items DEFAULT;
+
+-- Every month from the oldest order up to three months ahead
+SELECT create_order_partitions(month::date)
+FROM generate_series(
+        date_trunc('month', coalesce((SELECT min(created_at) FROM orders_unpartitioned), CURRENT_TIMESTAMP)),
+        date_trunc('month', CURRENT_TIMESTAMP) + interval '3 months',
+        interval '1 month'
+     ) AS month;
+
+INSERT INTO orders (id, order_number, customer_id, status, payment_method, payment_id, currency, total_amount, version, created_at, updated_at)
+SELECT id, order_number, customer_id, status, payment_method, payment_id, currency, total_amount, version,
+       coalesce(created_at, updated_at, CURRENT_TIMESTAMP), updated_at
+FROM orders_unpartitioned;
+
+INSERT INTO order_items (id, order_id, order_created_at, product_id, sku, price, quantity)
+SELECT i.id, i.order_id, o.created_at, i.product_id, i.sku, i.price, i.quantity
+FROM order_items_unpartitioned i
+JOIN orders o ON o.id = i.order_id;
+
+DROP TABLE order_items_unpartitioned;
+DROP TABLE orders_unpartitioned;
+
+-- Unique keys of a partitioned table must contain the partition key; ids come from one sequence and order numbers are
+-- UUIDs, so neither repeats across months
+ALTER TABLE orders ADD CONSTRAINT orders_pkey PRIMARY KEY (id, created_at);
+ALTER TABLE orders ADD CONSTRAINT orders_order_number_key UNIQUE (order_number, created_at);
+ALTER TABLE order_items ADD CONSTRAINT order_items_pkey PRIMARY KEY (id, order_created_at);
+ALTER TABLE order_items ADD CONSTRAINT fk_order FOREIGN KEY (order_id, order_created_at)
+    REFERENCES orders (id, created_at) ON DELETE CASCADE;
+
+CREATE INDEX idx_order_items_order_id ON order_items (order_id);
+CREATE INDEX idx_orders_customer_created_id ON orders (customer_id, created_at, id)
+    INCLUDE (order_number, status, total_amount, currency);
+CREATE INDEX idx_orders_abandoned ON orders (updated_at) WHERE status IN ('CREATED', 'PLACED');
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.microshop.order;
+
+import com.microshop.order.client.InventoryClient;
+import com.microshop.order.client.ProductCatalogClient;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers
+@AutoConfigureMockMvc
+// Statement budgets from application.yml fail the request instead of only logging, so a query regression fails its test
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "microshop.sql-budget.action=fail")
+public abstract class AbstractIntegrationTest {
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:18-alpine");
+
+    // product-service is not running; tests stub the catalog and stock reservations they need
+    @MockitoBean
+    protected ProductCatalogClient catalogClient;
+
+    @MockitoBean
+    protected InventoryClient inventoryClient;
+}
\ No newline at end of file
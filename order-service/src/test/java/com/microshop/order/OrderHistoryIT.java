@@ -0,0 +1,139 @@
+package com.microshop.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microshop.order.dto.OrderSummaryResponse;
+import com.microshop.order.dto.OrderWindowResponse;
+import com.microshop.order.entity.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OrderHistoryIT extends AbstractIntegrationTest {
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private static final LocalDateTime ARCHIVED_DELIVERED_AT = LocalDateTime.of(2025, 1, 10, 10, 0);
+    private static final LocalDateTime ARCHIVED_CANCELLED_AT = LocalDateTime.of(2025, 2, 10, 10, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String customerId;
+    private UUID archivedDelivered;
+    private UUID archivedCancelled;
+    private UUID paidEarlier;
+    private UUID createdFirst;
+    private UUID createdSecond;
+    private UUID paidLatest;
+
+    @BeforeEach
+    void setUp() {
+        customerId = "history-it-" + UUID.randomUUID();
+        archivedDelivered = insertArchivedOrder(OrderStatus.DELIVERED, ARCHIVED_DELIVERED_AT);
+        archivedCancelled = insertArchivedOrder(OrderStatus.CANCELLED, ARCHIVED_CANCELLED_AT);
+        paidEarlier = insertOrder(customerId, OrderStatus.PAID, NOW.minusHours(3));
+        // Same creation time, so only the id orders them and a cursor has to carry it
+        createdFirst = insertOrder(customerId, OrderStatus.CREATED, NOW.minusHours(2));
+        createdSecond = insertOrder(customerId, OrderStatus.CREATED, NOW.minusHours(2));
+        paidLatest = insertOrder(customerId, OrderStatus.PAID, NOW.minusHours(1));
+        insertOrder("history-it-other-customer", OrderStatus.PAID, NOW.minusMinutes(30));
+    }
+
+    @Test
+    void shouldPageThroughLiveAndArchivedOrdersNewestFirst() throws Exception {
+        // Pages of two split the orders created at the same time, and the last page is all archive
+        OrderWindowResponse first = fetch(history().param("size", "2"));
+        assertThat(orderNumbers(first)).containsExactly(paidLatest, createdSecond);
+        assertThat(first.hasNext()).isTrue();
+
+        OrderWindowResponse second = fetch(history().param("size", "2").param("cursor", first.nextCursor()));
+        assertThat(orderNumbers(second)).containsExactly(createdFirst, paidEarlier);
+        assertThat(second.hasNext()).isTrue();
+
+        OrderWindowResponse third = fetch(history().param("size", "2").param("cursor", second.nextCursor()));
+        assertThat(orderNumbers(third)).containsExactly(archivedCancelled, archivedDelivered);
+        assertThat(third.content()).extracting(OrderSummaryResponse::status).containsExactly(OrderStatus.CANCELLED, OrderStatus.DELIVERED);
+        assertThat(third.hasNext()).isFalse();
+        assertThat(third.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldFilterByStatusInBothLiveAndArchivedOrders() throws Exception {
+        assertThat(orderNumbers(fetch(history().param("status", "PAID").param("size", "10"))))
+                .containsExactly(paidLatest, paidEarlier);
+        assertThat(orderNumbers(fetch(history().param("status", "DELIVERED").param("size", "10"))))
+                .containsExactly(archivedDelivered);
+    }
+
+    @Test
+    void shouldFilterByCreationTimeWithExclusiveUpperBound() throws Exception {
+        OrderWindowResponse window = fetch(history()
+                .param("from", ARCHIVED_CANCELLED_AT.toString())
+                .param("to", NOW.minusHours(2).toString())
+                .param("size", "10"));
+
+        assertThat(orderNumbers(window)).containsExactly(paidEarlier, archivedCancelled);
+        assertThat(window.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldPageWithinFilteredHistory() throws Exception {
+        OrderWindowResponse first = fetch(history().param("status", "CREATED").param("size", "1"));
+        assertThat(orderNumbers(first)).containsExactly(createdSecond);
+
+        OrderWindowResponse second = fetch(history().param("status", "CREATED").param("size", "1").param("cursor", first.nextCursor()));
+        assertThat(orderNumbers(second)).containsExactly(createdFirst);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    private MockHttpServletRequestBuilder history() {
+        return get("/api/v1/orders").header("X-Customer-Id", customerId);
+    }
+
+    private OrderWindowResponse fetch(MockHttpServletRequestBuilder request) throws Exception {
+        String response = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, OrderWindowResponse.class);
+    }
+
+    private static List<UUID> orderNumbers(OrderWindowResponse window) {
+        return window.content().stream().map(OrderSummaryResponse::orderNumber).toList();
+    }
+
+    private UUID insertOrder(String customer, OrderStatus status, LocalDateTime createdAt) {
+        UUID orderNumber = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO orders (order_number, customer_id, status, total_amount, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, orderNumber, customer, status.name(), new BigDecimal("20.00"), createdAt, createdAt);
+        return orderNumber;
+    }
+
+    // Archived orders keep the id they had in orders, so they are drawn from the same sequence
+    private UUID insertArchivedOrder(OrderStatus status, LocalDateTime createdAt) {
+        UUID orderNumber = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO orders_archive (id, order_number, customer_id, status, currency, total_amount, created_at, updated_at, items)
+                VALUES (nextval('orders_id_seq'), ?, ?, ?, 'PLN', ?, ?, ?, '[]')
+                """, orderNumber, customerId, status.name(), new BigDecimal("20.00"), createdAt, createdAt);
+        return orderNumber;
+    }
+}
\ No newline at end of file
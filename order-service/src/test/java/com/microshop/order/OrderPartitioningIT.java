@@ -0,0 +1,172 @@
+package com.microshop.order;
+
+import com.microshop.order.entity.Order;
+import com.microshop.order.entity.OrderStatus;
+import com.microshop.order.repository.OrderArchiveRepository;
+import com.microshop.order.repository.OrderPartitionRepository;
+import com.microshop.order.repository.OrderRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Rows are written at V8, before orders were partitioned, and the remaining migrations then run over them
+@Import(OrderPartitioningIT.SeedBeforePartitioning.class)
+@TestPropertySource(properties = {"order.archive.enabled=false", "order.expiry.enabled=false"})
+class OrderPartitioningIT extends AbstractIntegrationTest {
+    private static final LocalDate CUTOFF = LocalDate.now().withDayOfMonth(1).minusMonths(12);
+    private static final LocalDateTime ARCHIVABLE_CREATED_AT = CUTOFF.minusMonths(2).atTime(10, 15);
+    private static final LocalDateTime OPEN_CREATED_AT = CUTOFF.minusMonths(1).atTime(12, 30);
+    private static final LocalDateTime RECENT_CREATED_AT = LocalDate.now().withDayOfMonth(1).atTime(0, 1);
+
+    // Numbers issued before V5 are UUIDv4; later ones are UUIDv7 and encode their creation time
+    private static final UUID ARCHIVABLE = UUID.fromString("3f1c2b9e-6a4d-4e1f-9b2a-7c5d8e9f0a1b");
+    private static final UUID OPEN = v7(OPEN_CREATED_AT);
+    private static final UUID RECENT = UUID.fromString("9a8b7c6d-5e4f-4a3b-8c2d-1e0f9a8b7c6d");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderArchiveRepository archiveRepository;
+
+    @Autowired
+    private OrderPartitionRepository partitionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldMoveExistingRowsIntoTheirMonthlyPartitions() {
+        assertThat(orderPartition(OPEN)).isEqualTo(partition("orders", OPEN_CREATED_AT));
+        assertThat(itemPartitions(OPEN)).containsOnly(partition("order_items", OPEN_CREATED_AT));
+        assertThat(orderPartition(RECENT)).isEqualTo(partition("orders", RECENT_CREATED_AT));
+        assertThat(itemPartitions(RECENT)).containsOnly(partition("order_items", RECENT_CREATED_AT));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM orders_default", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM order_items_default", Long.class)).isZero();
+    }
+
+    @Test
+    void shouldFindOrdersByUuidV4AndUuidV7Numbers() {
+        Order legacy = orderRepository.findByOrderNumber(RECENT).orElseThrow();
+        assertThat(legacy.getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(legacy.getOrderItems()).hasSize(1);
+
+        Order timeOrdered = orderRepository.findByOrderNumber(OPEN).orElseThrow();
+        assertThat(timeOrdered.getCreatedAt()).isEqualTo(OPEN_CREATED_AT);
+        assertThat(timeOrdered.getOrderItems()).hasSize(1);
+
+        assertThat(orderRepository.findByOrderNumber(v7(OPEN_CREATED_AT.plusMonths(1)))).isEmpty();
+    }
+
+    @Test
+    void shouldArchiveFinishedOrderWithItemsAndDropOnlyEmptiedMonths() {
+        assertThat(orderPartition(ARCHIVABLE)).isEqualTo(partition("orders", ARCHIVABLE_CREATED_AT));
+
+        assertThat(archiveRepository.archive(CUTOFF.atStartOfDay(), 100)).isEqualTo(1);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM orders WHERE order_number = ?", Long.class, ARCHIVABLE)).isZero();
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM order_items WHERE order_created_at = ?
+                """, Long.class, ARCHIVABLE_CREATED_AT)).isZero();
+        assertThat(archiveRepository.findOrder(ARCHIVABLE)).hasValueSatisfying(order -> {
+            assertThat(order.status()).isEqualTo(OrderStatus.DELIVERED);
+            assertThat(order.totalAmount()).isEqualByComparingTo("35.00");
+        });
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT jsonb_agg(item ->> 'sku' ORDER BY item ->> 'sku')::text
+                FROM orders_archive, jsonb_array_elements(items) item
+                WHERE order_number = ?
+                """, String.class, ARCHIVABLE)).isEqualTo("[\"SKU-1\", \"SKU-2\"]");
+
+        // The open order keeps its month; months after the cutoff are not considered, empty or not
+        assertThat(partitionRepository.dropEmptyPartitions(CUTOFF)).isEqualTo(1);
+        assertThat(tableExists(partition("orders", ARCHIVABLE_CREATED_AT))).isFalse();
+        assertThat(tableExists(partition("order_items", ARCHIVABLE_CREATED_AT))).isFalse();
+        assertThat(tableExists(partition("orders", OPEN_CREATED_AT))).isTrue();
+        assertThat(tableExists(partition("order_items", OPEN_CREATED_AT))).isTrue();
+        assertThat(tableExists(partition("orders", CUTOFF.atStartOfDay()))).isTrue();
+        assertThat(orderRepository.findByOrderNumber(OPEN)).isPresent();
+    }
+
+    private String orderPartition(UUID orderNumber) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM orders WHERE order_number = ?", String.class, orderNumber);
+    }
+
+    private List<String> itemPartitions(UUID orderNumber) {
+        return jdbcTemplate.queryForList("""
+                SELECT i.tableoid::regclass::text
+                FROM order_items i
+                JOIN orders o ON o.id = i.order_id AND o.created_at = i.order_created_at
+                WHERE o.order_number = ?
+                """, String.class, orderNumber);
+    }
+
+    private boolean tableExists(String name) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+    }
+
+    private static String partition(String table, LocalDateTime createdAt) {
+        return table + "_" + createdAt.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+    }
+
+    private static UUID v7(LocalDateTime createdAt) {
+        long millis = createdAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return new UUID(millis << 16 | 0x7000L, 0x8000000000000001L);
+    }
+
+    @TestConfiguration
+    static class SeedBeforePartitioning {
+        @Bean
+        FlywayMigrationStrategy seedBeforePartitioning() {
+            return flyway -> {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .cleanDisabled(false)
+                        .load()
+                        .clean();
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .target("8")
+                        .load()
+                        .migrate();
+
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+                insertOrder(jdbcTemplate, ARCHIVABLE, OrderStatus.DELIVERED, ARCHIVABLE_CREATED_AT, "SKU-1", "SKU-2");
+                insertOrder(jdbcTemplate, OPEN, OrderStatus.CREATED, OPEN_CREATED_AT, "SKU-3");
+                insertOrder(jdbcTemplate, RECENT, OrderStatus.PAID, RECENT_CREATED_AT, "SKU-4");
+
+                flyway.migrate();
+            };
+        }
+
+        private static void insertOrder(JdbcTemplate jdbcTemplate, UUID orderNumber, OrderStatus status, LocalDateTime createdAt, String... skus) {
+            Long orderId = jdbcTemplate.queryForObject("""
+                    INSERT INTO orders (order_number, customer_id, status, total_amount, created_at, updated_at)
+                    VALUES (?, 'partitioning-it', ?, ?, ?, ?)
+                    RETURNING id
+                    """, Long.class, orderNumber, status.name(), new BigDecimal("17.50").multiply(BigDecimal.valueOf(skus.length)), createdAt, createdAt);
+            for (int i = 0; i < skus.length; i++) {
+                jdbcTemplate.update("""
+                        INSERT INTO order_items (order_id, product_id, sku, price, quantity)
+                        VALUES (?, ?, ?, 17.50, 1)
+                        """, orderId, i + 1L, skus[i]);
+            }
+        }
+    }
+}
\ No newline at end of file
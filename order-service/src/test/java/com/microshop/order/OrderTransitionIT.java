@@ -0,0 +1,172 @@
+package com.microshop.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microshop.order.client.CatalogProduct;
+import com.microshop.order.client.StockReservationItem;
+import com.microshop.order.dto.OrderItemRequest;
+import com.microshop.order.dto.OrderRequest;
+import com.microshop.order.dto.PaymentRequest;
+import com.microshop.order.entity.OrderStatus;
+import com.microshop.order.entity.OrderTransition;
+import com.microshop.order.entity.PaymentMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OrderTransitionIT extends AbstractIntegrationTest {
+    // Written out here rather than taken from OrderTransition, so the SQL is checked against the rules and not against itself
+    private static final Map<OrderTransition, Set<OrderStatus>> ALLOWED_FROM = Map.of(
+            OrderTransition.PLACE, EnumSet.of(OrderStatus.CREATED),
+            OrderTransition.PAY, EnumSet.of(OrderStatus.PLACED),
+            OrderTransition.CANCEL, EnumSet.of(OrderStatus.CREATED, OrderStatus.PLACED, OrderStatus.PAID)
+    );
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        when(catalogClient.getProducts(any())).thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).stream()
+                .collect(Collectors.toMap(Function.identity(), id -> new CatalogProduct(id, "Product " + id, new BigDecimal("10.00"), "SKU-" + id))));
+        when(inventoryClient.reserve(any(), any())).thenReturn(true);
+    }
+
+    static Stream<Arguments> transitionsFromEveryStatus() {
+        return ALLOWED_FROM.keySet().stream()
+                .flatMap(transition -> Arrays.stream(OrderStatus.values()).map(status -> Arguments.of(transition, status)));
+    }
+
+    @ParameterizedTest(name = "{0} from {1}")
+    @MethodSource("transitionsFromEveryStatus")
+    void shouldApplyTransitionOnlyFromAllowedStatuses(OrderTransition transition, OrderStatus from) throws Exception {
+        UUID orderNumber = createOrder();
+        jdbcTemplate.update("UPDATE orders SET status = ? WHERE order_number = ?", from.name(), orderNumber);
+        long version = versionOf(orderNumber);
+
+        if (ALLOWED_FROM.get(transition).contains(from)) {
+            mockMvc.perform(request(transition, orderNumber)).andExpect(status().is2xxSuccessful());
+
+            assertThat(statusOf(orderNumber)).isEqualTo(transition.target());
+            assertThat(versionOf(orderNumber)).isEqualTo(version + 1);
+            if (transition == OrderTransition.PLACE) {
+                verify(inventoryClient).reserve(orderNumber, List.of(new StockReservationItem(1L, 2), new StockReservationItem(2L, 1)));
+            }
+            if (transition == OrderTransition.PAY) {
+                assertThat(jdbcTemplate.queryForObject("SELECT payment_id FROM orders WHERE order_number = ?", String.class, orderNumber))
+                        .isEqualTo("pay-" + orderNumber);
+            }
+        } else {
+            mockMvc.perform(request(transition, orderNumber))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.message").value(transition.rejectionMessage(from)));
+
+            assertThat(statusOf(orderNumber)).isEqualTo(from);
+            assertThat(versionOf(orderNumber)).isEqualTo(version);
+            // An order that cannot be placed must not take stock, not even for the length of its transaction
+            verify(inventoryClient, never()).reserve(any(), any());
+        }
+    }
+
+    @Test
+    void shouldRejectPlacingOrderWithoutItems() throws Exception {
+        UUID orderNumber = createOrder();
+        jdbcTemplate.update("DELETE FROM order_items WHERE order_id = (SELECT id FROM orders WHERE order_number = ?)", orderNumber);
+        long version = versionOf(orderNumber);
+
+        mockMvc.perform(request(OrderTransition.PLACE, orderNumber))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Order must contain at least one item"));
+
+        assertThat(statusOf(orderNumber)).isEqualTo(OrderStatus.CREATED);
+        assertThat(versionOf(orderNumber)).isEqualTo(version);
+    }
+
+    @Test
+    void shouldReleaseReservationWhenItemsChangeWhileReserving() throws Exception {
+        UUID orderNumber = createOrder();
+        // No lock is held during the reservation, so an item edit can land before the order is placed
+        when(inventoryClient.reserve(any(), any())).thenAnswer(invocation -> {
+            jdbcTemplate.update("UPDATE order_items SET quantity = 5 WHERE product_id = 1 AND order_id = (SELECT id FROM orders WHERE order_number = ?)", orderNumber);
+            return true;
+        });
+
+        mockMvc.perform(request(OrderTransition.PLACE, orderNumber))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Order items changed while stock was being reserved"));
+
+        assertThat(statusOf(orderNumber)).isEqualTo(OrderStatus.CREATED);
+        verify(inventoryClient).release(List.of(orderNumber));
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownOrder() throws Exception {
+        for (OrderTransition transition : ALLOWED_FROM.keySet()) {
+            mockMvc.perform(request(transition, UUID.randomUUID())).andExpect(status().isNotFound());
+        }
+    }
+
+    private UUID createOrder() throws Exception {
+        OrderRequest request = new OrderRequest(List.of(new OrderItemRequest(1L, 2), new OrderItemRequest(2L, 1)));
+        String response = mockMvc.perform(post("/api/v1/orders")
+                        .header("X-Customer-Id", "transition-it")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(objectMapper.readTree(response).get("orderNumber").asText());
+    }
+
+    private RequestBuilder request(OrderTransition transition, UUID orderNumber) throws Exception {
+        return switch (transition) {
+            case PLACE -> post("/api/v1/orders/{orderNumber}/place", orderNumber);
+            case PAY -> post("/api/v1/orders/{orderNumber}/pay", orderNumber)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new PaymentRequest("pay-" + orderNumber, PaymentMethod.STRIPE)));
+            case CANCEL -> delete("/api/v1/orders/{orderNumber}/cancel", orderNumber);
+            case EXPIRE -> throw new IllegalArgumentException("Orders are expired by the sweep, not over HTTP");
+        };
+    }
+
+    private OrderStatus statusOf(UUID orderNumber) {
+        return OrderStatus.valueOf(jdbcTemplate.queryForObject("SELECT status FROM orders WHERE order_number = ?", String.class, orderNumber));
+    }
+
+    private long versionOf(UUID orderNumber) {
+        return jdbcTemplate.queryForObject("SELECT version FROM orders WHERE order_number = ?", Long.class, orderNumber);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.microshop.order;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Workers are off, so accepted events stay in the queue where the test can find them
+@TestPropertySource(properties = {"order.payment-events.enabled=false", "order.payment-events.signing-secret=" + PaymentEventSignatureIT.SECRET})
+class PaymentEventSignatureIT extends AbstractIntegrationTest {
+    static final String SECRET = "payment-signature-it";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldAcceptEventSignedWithSecret() throws Exception {
+        String paymentId = "pay-" + UUID.randomUUID();
+        String body = event(paymentId);
+
+        mockMvc.perform(paymentEvent(body).header("X-Payment-Signature", sign(body, SECRET)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Duplicate-Event", "false"));
+
+        assertThat(queued(paymentId)).isOne();
+    }
+
+    @Test
+    void shouldRejectUnsignedOrMissignedEventsBeforeQueueingThem() throws Exception {
+        String paymentId = "pay-" + UUID.randomUUID();
+        String body = event(paymentId);
+
+        mockMvc.perform(paymentEvent(body)).andExpect(status().isUnauthorized());
+        mockMvc.perform(paymentEvent(body).header("X-Payment-Signature", sign(body, "another-secret"))).andExpect(status().isUnauthorized());
+        mockMvc.perform(paymentEvent(body).header("X-Payment-Signature", "not-hex")).andExpect(status().isUnauthorized());
+        // A valid signature of a different body does not carry over
+        mockMvc.perform(paymentEvent(body).header("X-Payment-Signature", sign(event("pay-other"), SECRET))).andExpect(status().isUnauthorized());
+
+        assertThat(queued(paymentId)).isZero();
+    }
+
+    private MockHttpServletRequestBuilder paymentEvent(String body) {
+        return post("/api/v1/payment-events").contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private long queued(String paymentId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM payment_events WHERE payment_id = ?", Long.class, paymentId);
+    }
+
+    private static String event(String paymentId) {
+        return """
+                {"orderNumber": "%s", "paymentId": "%s", "paymentMethod": "STRIPE"}
+                """.formatted(UUID.randomUUID(), paymentId);
+    }
+
+    private static String sign(String body, String secret) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.microshop.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microshop.order.client.CatalogProduct;
+import com.microshop.order.dto.OrderItemRequest;
+import com.microshop.order.dto.OrderRequest;
+import com.microshop.order.dto.PaymentRequest;
+import com.microshop.order.entity.PaymentMethod;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SalesReportIT extends AbstractIntegrationTest {
+    private static final long PRODUCT_ID = 9001L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldRebuildDriftedReadModelWithoutLosingOrders() throws Exception {
+        when(catalogClient.getProducts(any())).thenReturn(Map.of(PRODUCT_ID, new CatalogProduct(PRODUCT_ID, "Product", new BigDecimal("12.50"), "SKU-9001")));
+        when(inventoryClient.reserve(any(), any())).thenReturn(true);
+        UUID orderNumber = createOrder();
+        mockMvc.perform(post("/api/v1/orders/{orderNumber}/place", orderNumber)).andExpect(status().isOk());
+        mockMvc.perform(post("/api/v1/orders/{orderNumber}/pay", orderNumber)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PaymentRequest("pay-" + orderNumber, PaymentMethod.STRIPE))))
+                .andExpect(status().isOk());
+        // Other tests change statuses behind the read model's back, so start from a reconciled state
+        rebuild();
+        String dailySales = dailySales();
+        String productSales = productSales();
+
+        jdbcTemplate.update("DELETE FROM daily_sales WHERE sales_date = ?", LocalDate.now());
+        jdbcTemplate.update("UPDATE product_sales SET units = units + 5 WHERE product_id = ?", PRODUCT_ID);
+        assertThat(dailySales()).isNotEqualTo(dailySales);
+
+        mockMvc.perform(post("/api/v1/reports/sales/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productSalesRows").value(1));
+
+        assertThat(dailySales()).isEqualTo(dailySales);
+        assertThat(productSales()).isEqualTo(productSales);
+        // Corrections are increments, so once applied there is nothing left to correct
+        mockMvc.perform(post("/api/v1/reports/sales/rebuild"))
+                .andExpect(jsonPath("$.dailySalesRows").value(0))
+                .andExpect(jsonPath("$.productSalesRows").value(0));
+    }
+
+    private UUID createOrder() throws Exception {
+        OrderRequest request = new OrderRequest(List.of(new OrderItemRequest(PRODUCT_ID, 3)));
+        String response = mockMvc.perform(post("/api/v1/orders")
+                        .header("X-Customer-Id", "sales-report-it")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(objectMapper.readTree(response).get("orderNumber").asText());
+    }
+
+    private void rebuild() throws Exception {
+        mockMvc.perform(post("/api/v1/reports/sales/rebuild")).andExpect(status().isOk());
+    }
+
+    private String dailySales() throws Exception {
+        return mockMvc.perform(get("/api/v1/reports/daily-sales")
+                        .param("from", LocalDate.now().toString())
+                        .param("to", LocalDate.now().toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private String productSales() throws Exception {
+        return mockMvc.perform(get("/api/v1/reports/product-sales").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.microshop.order.client;
+
+import com.microshop.order.exception.InsufficientStockException;
+import com.microshop.order.exception.StockReservationReleasedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class InventoryClientTest {
+    private static final String BASE_URL = "http://product-service.test";
+    private static final String RESERVATIONS_URL = BASE_URL + "/api/v1/stock/reservations";
+    private static final UUID ORDER_NUMBER = UUID.fromString("01890a5d-ac96-774b-bcce-b302099a8057");
+
+    private MockRestServiceServer server;
+    private InventoryClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl(BASE_URL);
+        server = MockRestServiceServer.bindTo(builder).build();
+        client = new InventoryClient(builder.build());
+    }
+
+    @Test
+    void shouldReserveStockUnderOrderNumber() {
+        server.expect(once(), requestTo(RESERVATIONS_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(jsonPath("$.reservationId").value(ORDER_NUMBER.toString()))
+                .andExpect(jsonPath("$.items[0].productId").value(7))
+                .andExpect(jsonPath("$.items[0].quantity").value(2))
+                .andRespond(withSuccess("""
+                        {"reservationId": "%s", "status": "RESERVED", "created": true}
+                        """.formatted(ORDER_NUMBER), MediaType.APPLICATION_JSON));
+
+        assertThat(client.reserve(ORDER_NUMBER, List.of(new StockReservationItem(7L, 2)))).isTrue();
+        server.verify();
+    }
+
+    @Test
+    void shouldRejectOrderWhenStockIsInsufficient() {
+        server.expect(once(), requestTo(RESERVATIONS_URL))
+                .andRespond(withStatus(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON).body("{}"));
+
+        assertThatThrownBy(() -> client.reserve(ORDER_NUMBER, List.of(new StockReservationItem(7L, 2))))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining(ORDER_NUMBER.toString());
+        server.verify();
+    }
+
+    @Test
+    void shouldNotHandBackReservationHeldByEarlierAttempt() {
+        server.expect(once(), requestTo(RESERVATIONS_URL))
+                .andRespond(withSuccess("""
+                        {"reservationId": "%s", "status": "RESERVED", "created": false}
+                        """.formatted(ORDER_NUMBER), MediaType.APPLICATION_JSON));
+
+        assertThat(client.reserve(ORDER_NUMBER, List.of(new StockReservationItem(7L, 2)))).isFalse();
+        server.verify();
+    }
+
+    @Test
+    void shouldRejectReservationThatWasReleased() {
+        server.expect(once(), requestTo(RESERVATIONS_URL))
+                .andRespond(withSuccess("""
+                        {"reservationId": "%s", "status": "RELEASED", "created": false}
+                        """.formatted(ORDER_NUMBER), MediaType.APPLICATION_JSON));
+
+        assertThatThrownBy(() -> client.reserve(ORDER_NUMBER, List.of(new StockReservationItem(7L, 2))))
+                .isInstanceOf(StockReservationReleasedException.class)
+                .hasMessageContaining(ORDER_NUMBER.toString());
+        server.verify();
+    }
+
+    @Test
+    void shouldReleaseLargeBatchesInChunks() {
+        List<UUID> orderNumbers = IntStream.range(0, 1500).mapToObj(i -> UUID.randomUUID()).toList();
+        server.expect(once(), requestTo(RESERVATIONS_URL + "/release"))
+                .andExpect(jsonPath("$.reservationIds", hasSize(1000)))
+                .andRespond(withStatus(HttpStatus.NO_CONTENT));
+        server.expect(once(), requestTo(RESERVATIONS_URL + "/release"))
+                .andExpect(jsonPath("$.reservationIds", hasSize(500)))
+                .andRespond(withStatus(HttpStatus.NO_CONTENT));
+
+        client.release(orderNumbers);
+        server.verify();
+    }
+}
\ No newline at end of file
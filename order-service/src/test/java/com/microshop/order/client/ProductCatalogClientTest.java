@@ -0,0 +1,175 @@
+package com.microshop.order.client;
+
+import com.microshop.order.config.ProductCatalogProperties;
+import com.microshop.order.exception.ProductCatalogUnavailableException;
+import com.microshop.order.exception.ProductNotInCatalogException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withException;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ProductCatalogClientTest {
+    private static final String BASE_URL = "http://product-service.test";
+    private static final String BATCH_URL = BASE_URL + "/api/v1/products/batch";
+
+    private RestClient.Builder builder;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        builder = RestClient.builder().baseUrl(BASE_URL);
+        server = MockRestServiceServer.bindTo(builder).build();
+    }
+
+    @Test
+    void shouldResolveAllItemsInOneBatchAndServeRepeatsFromCache() {
+        ProductCatalogClient client = client(Duration.ofMinutes(1));
+        server.expect(once(), requestTo(BATCH_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(jsonPath("$.ids", containsInAnyOrder(1, 2)))
+                .andRespond(withSuccess(batchResponse(product(1, "19.99"), product(2, "5.00")), MediaType.APPLICATION_JSON));
+
+        Map<Long, CatalogProduct> products = client.getProducts(List.of(1L, 2L, 1L));
+        Map<Long, CatalogProduct> repeated = client.getProducts(List.of(2L));
+
+        assertThat(products).containsOnlyKeys(1L, 2L);
+        assertThat(products.get(1L).price()).isEqualByComparingTo("19.99");
+        assertThat(products.get(1L).sku()).isEqualTo("SKU-1");
+        assertThat(repeated.get(2L).price()).isEqualByComparingTo("5.00");
+        server.verify();
+    }
+
+    @Test
+    void shouldRejectProductsMissingFromCatalog() {
+        ProductCatalogClient client = client(Duration.ofMinutes(1));
+        server.expect(once(), requestTo(BATCH_URL))
+                .andRespond(withSuccess(batchResponse(product(1, "19.99")), MediaType.APPLICATION_JSON));
+
+        assertThatThrownBy(() -> client.getProducts(List.of(1L, 404L)))
+                .isInstanceOf(ProductNotInCatalogException.class)
+                .hasMessageContaining("404");
+    }
+
+    @Test
+    void shouldFallBackToLastKnownPricesWhenCatalogFails() {
+        ProductCatalogClient client = client(Duration.ZERO);
+        server.expect(once(), requestTo(BATCH_URL))
+                .andRespond(withSuccess(batchResponse(product(1, "19.99")), MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(BATCH_URL))
+                .andRespond(withException(new SocketTimeoutException("Read timed out")));
+
+        client.getProducts(List.of(1L));
+        Map<Long, CatalogProduct> products = client.getProducts(List.of(1L));
+
+        assertThat(products.get(1L).price()).isEqualByComparingTo("19.99");
+        server.verify();
+    }
+
+    @Test
+    void shouldFallBackToLastKnownPricesWhenCatalogIsSlow() {
+        ProductCatalogClient client = client(Duration.ZERO);
+        server.expect(once(), requestTo(BATCH_URL))
+                .andRespond(withSuccess(batchResponse(product(1, "19.99")), MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(BATCH_URL))
+                .andRespond(request -> {
+                    sleep(1_000);
+                    return withSuccess(batchResponse(product(1, "24.99")), MediaType.APPLICATION_JSON).createResponse(request);
+                });
+
+        client.getProducts(List.of(1L));
+        long started = System.nanoTime();
+        Map<Long, CatalogProduct> products = client.getProducts(List.of(1L));
+
+        assertThat(products.get(1L).price()).isEqualByComparingTo("19.99");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(900));
+    }
+
+    @Test
+    void shouldFailWhenCatalogIsUnavailableAndNothingIsCached() {
+        ProductCatalogClient client = client(Duration.ofMinutes(1));
+        server.expect(once(), requestTo(BATCH_URL)).andRespond(withServerError());
+
+        assertThatThrownBy(() -> client.getProducts(List.of(1L)))
+                .isInstanceOf(ProductCatalogUnavailableException.class)
+                .hasMessage("Product catalog is unavailable");
+    }
+
+    @Test
+    void shouldCoalesceConcurrentLookupsForTheSameProduct() throws Exception {
+        ProductCatalogClient client = client(Duration.ofMinutes(1));
+        CountDownLatch requestStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        server.expect(once(), requestTo(BATCH_URL))
+                .andRespond(request -> {
+                    requestStarted.countDown();
+                    await(release);
+                    return withSuccess(batchResponse(product(1, "19.99")), MediaType.APPLICATION_JSON).createResponse(request);
+                });
+
+        CompletableFuture<Map<Long, CatalogProduct>> first = CompletableFuture.supplyAsync(() -> client.getProducts(List.of(1L)));
+        assertThat(requestStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Map<Long, CatalogProduct>> second = CompletableFuture.supplyAsync(() -> client.getProducts(List.of(1L)));
+        sleep(50);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).get(1L).price()).isEqualByComparingTo("19.99");
+        assertThat(second.get(5, TimeUnit.SECONDS).get(1L).price()).isEqualByComparingTo("19.99");
+        server.verify();
+    }
+
+    private ProductCatalogClient client(Duration freshTtl) {
+        ProductCatalogProperties properties = new ProductCatalogProperties(
+                BASE_URL, Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofMillis(300), freshTtl, Duration.ofHours(1), 1_000
+        );
+        return new ProductCatalogClient(builder.build(), properties);
+    }
+
+    private static String product(long id, String price) {
+        return """
+                {"id":%d,"name":"Product %d","description":null,"price":%s,"sku":"SKU-%d","version":0}"""
+                .formatted(id, id, new BigDecimal(price), id);
+    }
+
+    private static String batchResponse(String... products) {
+        return """
+                {"products":[%s],"missingIds":[],"missingSkus":[]}""".formatted(String.join(",", products));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.microshop.order.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderNumberGeneratorTest {
+    private static final long NOW = Instant.parse("2026-03-14T15:09:26.535Z").toEpochMilli();
+
+    private final SettableClock clock = new SettableClock(NOW);
+    private final OrderNumberGenerator generator = new OrderNumberGenerator(clock);
+
+    @Test
+    void shouldGenerateVersion7NumbersCarryingCreationTime() {
+        UUID orderNumber = generator.next();
+
+        assertThat(orderNumber.version()).isEqualTo(7);
+        assertThat(orderNumber.variant()).isEqualTo(2);
+        assertThat(OrderNumberGenerator.timestampOf(orderNumber)).isEqualTo(Instant.ofEpochMilli(NOW));
+    }
+
+    @Test
+    void shouldKeepNumbersOrderedWithinAndAcrossMilliseconds() {
+        List<String> orderNumbers = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            orderNumbers.add(generator.next().toString());
+        }
+        clock.set(NOW - 1_000);
+        orderNumbers.add(generator.next().toString());
+
+        assertThat(orderNumbers).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldNotCollideAcrossThreads() throws Exception {
+        Set<UUID> orderNumbers = ConcurrentHashMap.newKeySet();
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 8).forEach(thread -> executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    orderNumbers.add(generator.next());
+                }
+            }));
+        }
+
+        assertThat(orderNumbers).hasSize(80_000);
+    }
+
+    private static class SettableClock extends Clock {
+        private final AtomicLong millis;
+
+        SettableClock(long millis) {
+            this.millis = new AtomicLong(millis);
+        }
+
+        void set(long millis) {
+            this.millis.set(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+    }
+}
\ No newline at end of file
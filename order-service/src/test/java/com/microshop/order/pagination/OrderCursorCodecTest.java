@@ -0,0 +1,36 @@
+package com.microshop.order.pagination;
+
+import com.microshop.order.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderCursorCodecTest {
+    private final OrderCursorCodec codec = new OrderCursorCodec(Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void shouldRoundTripCursorWithMicrosecondPrecision() {
+        OrderCursor cursor = new OrderCursor(LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_000), 42L);
+
+        assertThat(codec.decode(codec.encode(cursor))).isEqualTo(cursor);
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> codec.decode("not-a-cursor"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void shouldRejectCursorWithoutPosition() {
+        String token = Base64.getUrlEncoder().encodeToString("{\"id\":1}".getBytes());
+
+        assertThatThrownBy(() -> codec.decode(token))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
\ No newline at end of file
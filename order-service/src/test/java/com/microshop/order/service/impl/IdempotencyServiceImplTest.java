@@ -0,0 +1,112 @@
+package com.microshop.order.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microshop.order.config.IdempotencyProperties;
+import com.microshop.order.dto.OrderResponse;
+import com.microshop.order.entity.OrderStatus;
+import com.microshop.order.exception.IdempotencyKeyMismatchException;
+import com.microshop.order.repository.IdempotencyKeyRepository;
+import com.microshop.order.repository.IdempotencyKeyRepository.StoredResponse;
+import com.microshop.order.service.IdempotencyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceImplTest {
+    private static final String SCOPE = "create-order:customer-1";
+    private static final OrderResponse RESPONSE = new OrderResponse(UUID.fromString("01890a5d-ac96-774b-bcce-b302099a8057"), new BigDecimal("12.50"), OrderStatus.CREATED);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private IdempotencyKeyRepository repository;
+    private IdempotencyServiceImpl service;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyKeyRepository.class);
+        service = new IdempotencyServiceImpl(repository, objectMapper, properties());
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void shouldExecuteWithoutKeyWithoutTouchingStore() {
+        IdempotencyService.Result<OrderResponse> result = execute(null, Map.of("quantity", 1));
+
+        assertThat(result).isEqualTo(new IdempotencyService.Result<>(RESPONSE, false));
+        assertThat(executions).hasValue(1);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldReplayCompletedResponseFromCacheWithoutDatabaseRoundTrip() {
+        when(repository.claim(eq(SCOPE), eq("key-1"), anyString(), any())).thenReturn(true);
+
+        IdempotencyService.Result<OrderResponse> first = execute("key-1", Map.of("quantity", 1));
+        IdempotencyService.Result<OrderResponse> retry = execute("key-1", Map.of("quantity", 1));
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry).isEqualTo(new IdempotencyService.Result<>(RESPONSE, true));
+        assertThat(executions).hasValue(1);
+        verify(repository).claim(eq(SCOPE), eq("key-1"), anyString(), any());
+        verify(repository).complete(eq(SCOPE), eq("key-1"), anyString());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void shouldReplayResponseStoredByAnotherInstanceWhenKeyIsAlreadyClaimed() {
+        ArgumentCaptor<String> requestHash = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> responseBody = ArgumentCaptor.forClass(String.class);
+        when(repository.claim(eq(SCOPE), eq("key-1"), requestHash.capture(), any())).thenReturn(true, false);
+        execute("key-1", Map.of("quantity", 1));
+        verify(repository).complete(eq(SCOPE), eq("key-1"), responseBody.capture());
+        when(repository.find(SCOPE, "key-1")).thenReturn(Optional.of(new StoredResponse(requestHash.getValue(), responseBody.getValue())));
+
+        IdempotencyServiceImpl otherInstance = new IdempotencyServiceImpl(repository, objectMapper, properties());
+        IdempotencyService.Result<OrderResponse> replayed = otherInstance.execute(SCOPE, "key-1", Map.of("quantity", 1), OrderResponse.class, this::createOrder);
+
+        assertThat(replayed).isEqualTo(new IdempotencyService.Result<>(RESPONSE, true));
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void shouldRejectKeyReusedWithDifferentRequest() {
+        when(repository.claim(eq(SCOPE), eq("key-1"), anyString(), any())).thenReturn(true);
+        execute("key-1", Map.of("quantity", 1));
+
+        assertThatThrownBy(() -> execute("key-1", Map.of("quantity", 2)))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    private IdempotencyService.Result<OrderResponse> execute(String key, Object request) {
+        return service.execute(SCOPE, key, request, OrderResponse.class, this::createOrder);
+    }
+
+    private OrderResponse createOrder() {
+        executions.incrementAndGet();
+        return RESPONSE;
+    }
+
+    private static IdempotencyProperties properties() {
+        return new IdempotencyProperties(Duration.ofHours(24), 100, Duration.ofHours(1));
+    }
+}
\ No newline at end of file
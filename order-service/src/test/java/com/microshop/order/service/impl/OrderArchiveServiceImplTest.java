@@ -0,0 +1,82 @@
+package com.microshop.order.service.impl;
+
+import com.microshop.order.config.OrderArchiveProperties;
+import com.microshop.order.repository.OrderArchiveRepository;
+import com.microshop.order.repository.OrderPartitionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class OrderArchiveServiceImplTest {
+    private static final int BATCH_SIZE = 2;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderArchiveRepository archiveRepository;
+    private OrderPartitionRepository partitionRepository;
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        archiveRepository = mock(OrderArchiveRepository.class);
+        partitionRepository = mock(OrderPartitionRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+    }
+
+    @Test
+    void shouldArchiveWholeMonthsAndDropPartitionsTheyEmptied() {
+        LocalDate cutoff = LocalDate.now().minusMonths(12).withDayOfMonth(1);
+        when(archiveRepository.archive(eq(cutoff.atStartOfDay()), anyInt())).thenReturn(2, 2, 1);
+        when(partitionRepository.dropEmptyPartitions(cutoff)).thenReturn(3);
+
+        int archived = service(true, 10).archiveOrders();
+
+        assertThat(archived).isEqualTo(5);
+        verify(archiveRepository, times(3)).archive(any(), anyInt());
+        // Three archive batches and the partition drop
+        verify(transactionManager, times(4)).commit(any());
+        assertThat(meterRegistry.get("orders.archived").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("orders.partitions.dropped").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldStopAtBatchLimitAndStillDropEmptiedPartitions() {
+        when(archiveRepository.archive(any(), anyInt())).thenReturn(BATCH_SIZE);
+
+        assertThat(service(true, 3).archiveOrders()).isEqualTo(6);
+
+        verify(archiveRepository, times(3)).archive(any(), anyInt());
+        verify(partitionRepository).dropEmptyPartitions(any());
+        assertThat(meterRegistry.get("orders.archive.run").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotTouchDatabaseWhenDisabled() {
+        assertThat(service(false, 10).archiveOrders()).isZero();
+
+        verifyNoInteractions(archiveRepository, partitionRepository, transactionManager);
+    }
+
+    private OrderArchiveServiceImpl service(boolean enabled, int maxBatchesPerRun) {
+        OrderArchiveProperties properties = new OrderArchiveProperties(
+                enabled, Period.ofMonths(12), Duration.ofHours(1), BATCH_SIZE, maxBatchesPerRun, Duration.ZERO
+        );
+        return new OrderArchiveServiceImpl(archiveRepository, partitionRepository, new TransactionTemplate(transactionManager), properties, meterRegistry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.microshop.order.service.impl;
+
+import com.microshop.order.client.InventoryClient;
+import com.microshop.order.config.OrderExpiryProperties;
+import com.microshop.order.entity.OrderStatus;
+import com.microshop.order.repository.OrderJdbcRepository;
+import com.microshop.order.repository.OrderJdbcRepository.ExpiredOrder;
+import com.microshop.order.repository.SalesReadModelRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class OrderExpiryServiceImplTest {
+    private static final int BATCH_SIZE = 2;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderJdbcRepository jdbcRepository;
+    private SalesReadModelRepository salesReadModel;
+    private PlatformTransactionManager transactionManager;
+    private InventoryClient inventoryClient;
+
+    @BeforeEach
+    void setUp() {
+        jdbcRepository = mock(OrderJdbcRepository.class);
+        salesReadModel = mock(SalesReadModelRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        inventoryClient = mock(InventoryClient.class);
+    }
+
+    @Test
+    void shouldSweepBatchesUntilOneComesBackShort() {
+        UUID placedOrder = UUID.randomUUID();
+        when(jdbcRepository.expireAbandoned(any(), anyInt())).thenReturn(
+                List.of(new ExpiredOrder(1L, UUID.randomUUID(), OrderStatus.CREATED), new ExpiredOrder(2L, placedOrder, OrderStatus.PLACED)),
+                List.of(new ExpiredOrder(3L, UUID.randomUUID(), OrderStatus.CREATED))
+        );
+        when(jdbcRepository.countAbandoned(any())).thenReturn(0L);
+
+        int expired = service(true, 10).expireAbandonedOrders();
+
+        assertThat(expired).isEqualTo(3);
+        verify(jdbcRepository, times(2)).expireAbandoned(any(), anyInt());
+        verify(transactionManager, times(2)).commit(any());
+        verify(salesReadModel).moveOrders(List.of(1L), OrderStatus.CREATED, OrderStatus.CANCELLED);
+        verify(salesReadModel).moveOrders(List.of(2L), OrderStatus.PLACED, OrderStatus.CANCELLED);
+        verify(salesReadModel).moveOrders(List.of(3L), OrderStatus.CREATED, OrderStatus.CANCELLED);
+        verify(inventoryClient).release(List.of(placedOrder));
+        assertThat(meterRegistry.get("orders.expired").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldStopAtBatchLimitAndReportRemainingBacklog() {
+        when(jdbcRepository.expireAbandoned(any(), anyInt())).thenReturn(
+                List.of(new ExpiredOrder(1L, UUID.randomUUID(), OrderStatus.CREATED), new ExpiredOrder(2L, UUID.randomUUID(), OrderStatus.CREATED))
+        );
+        when(jdbcRepository.countAbandoned(any())).thenReturn(40L);
+
+        int expired = service(true, 3).expireAbandonedOrders();
+
+        assertThat(expired).isEqualTo(6);
+        verify(jdbcRepository, times(3)).expireAbandoned(any(), anyInt());
+        assertThat(meterRegistry.get("orders.abandoned.backlog").gauge().value()).isEqualTo(40);
+        assertThat(meterRegistry.get("orders.expiry.sweep").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotTouchDatabaseWhenDisabled() {
+        assertThat(service(false, 10).expireAbandonedOrders()).isZero();
+
+        verifyNoInteractions(jdbcRepository, salesReadModel, transactionManager);
+    }
+
+    private OrderExpiryServiceImpl service(boolean enabled, int maxBatchesPerSweep) {
+        OrderExpiryProperties properties = new OrderExpiryProperties(
+                enabled, Duration.ofHours(24), Duration.ofMinutes(1), BATCH_SIZE, maxBatchesPerSweep, Duration.ZERO
+        );
+        return new OrderExpiryServiceImpl(jdbcRepository, salesReadModel, new TransactionTemplate(transactionManager), inventoryClient, properties, meterRegistry);
+    }
+}
\ No newline at end of file
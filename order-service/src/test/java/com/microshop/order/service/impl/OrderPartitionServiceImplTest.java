@@ -0,0 +1,37 @@
+package com.microshop.order.service.impl;
+
+import com.microshop.order.config.OrderPartitionProperties;
+import com.microshop.order.repository.OrderPartitionRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OrderPartitionServiceImplTest {
+    @Test
+    void shouldEnsureCurrentMonthAndMonthsAhead() {
+        OrderPartitionRepository repository = mock(OrderPartitionRepository.class);
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+        new OrderPartitionServiceImpl(repository, new TransactionTemplate(transactionManager), new OrderPartitionProperties(2, Duration.ofHours(6)))
+                .createUpcomingPartitions();
+
+        InOrder inOrder = inOrder(repository);
+        inOrder.verify(repository).createPartitions(month);
+        inOrder.verify(repository).createPartitions(month.plusMonths(1));
+        inOrder.verify(repository).createPartitions(month.plusMonths(2));
+        verify(repository, times(3)).createPartitions(any());
+        verify(transactionManager, times(3)).commit(any());
+    }
+}
\ No newline at end of file
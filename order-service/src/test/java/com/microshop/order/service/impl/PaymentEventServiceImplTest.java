@@ -0,0 +1,88 @@
+package com.microshop.order.service.impl;
+
+import com.microshop.order.client.InventoryClient;
+import com.microshop.order.config.PaymentEventProperties;
+import com.microshop.order.dto.PaymentEventRequest;
+import com.microshop.order.entity.OrderStatus;
+import com.microshop.order.entity.PaymentMethod;
+import com.microshop.order.monitoring.OrderMetrics;
+import com.microshop.order.repository.PaymentEventRepository;
+import com.microshop.order.repository.PaymentEventRepository.AppliedEvent;
+import com.microshop.order.repository.SalesReadModelRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PaymentEventServiceImplTest {
+    private static final UUID ORDER_NUMBER = UUID.fromString("01890a5d-ac96-774b-bcce-b302099a8057");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PaymentEventRepository repository;
+    private SalesReadModelRepository salesReadModel;
+    private PaymentEventServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PaymentEventRepository.class);
+        salesReadModel = mock(SalesReadModelRepository.class);
+        service = new PaymentEventServiceImpl(repository, salesReadModel, mock(InventoryClient.class), new OrderMetrics(meterRegistry),
+                new PaymentEventProperties(true, 2, 100, Duration.ofMillis(500), Duration.ofDays(7), Duration.ofHours(1), "X-Payment-Signature", "secret"), meterRegistry);
+    }
+
+    @Test
+    void shouldCountRedeliveredEventsAsDuplicates() {
+        when(repository.enqueue(ORDER_NUMBER, PaymentMethod.STRIPE, "pay-1")).thenReturn(true, false);
+        PaymentEventRequest request = new PaymentEventRequest(ORDER_NUMBER, "pay-1", PaymentMethod.STRIPE);
+
+        assertThat(service.enqueue(request)).isTrue();
+        assertThat(service.enqueue(request)).isFalse();
+
+        assertThat(meterRegistry.get("payment.events.received").tag("result", "enqueued").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("payment.events.received").tag("result", "duplicate").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMovePaidOrdersInReadModelAndRecordOutcomes() {
+        LocalDateTime receivedAt = LocalDateTime.now().minusSeconds(5);
+        when(repository.claim(100)).thenReturn(List.of(1L, 2L, 3L));
+        when(repository.apply(List.of(1L, 2L, 3L), Set.of(OrderStatus.PLACED), OrderStatus.PAID)).thenReturn(List.of(
+                new AppliedEvent(1L, receivedAt, ORDER_NUMBER, 10L, OrderStatus.PLACED),
+                new AppliedEvent(2L, receivedAt, ORDER_NUMBER, null, null),
+                new AppliedEvent(3L, receivedAt, UUID.randomUUID(), 30L, OrderStatus.PLACED)
+        ));
+
+        assertThat(service.applyPendingBatch()).isEqualTo(3);
+
+        verify(salesReadModel).moveOrders(List.of(10L, 30L), OrderStatus.PLACED, OrderStatus.PAID);
+        assertThat(meterRegistry.get("payment.events.processed").tag("result", "applied").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("payment.events.processed").tag("result", "rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("payment.events.apply.latency").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("orders.paid").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotApplyAnythingWhenQueueIsEmpty() {
+        when(repository.claim(anyInt())).thenReturn(List.of());
+
+        assertThat(service.applyPendingBatch()).isZero();
+
+        verify(repository, never()).apply(any(), any(), any());
+        verifyNoInteractions(salesReadModel);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.microshop.order.service.impl;
+
+import com.microshop.order.dto.DailySalesResponse;
+import com.microshop.order.entity.OrderStatus;
+import com.microshop.order.repository.SalesReadModelRepository;
+import com.microshop.order.repository.SalesReadModelRepository.DailySalesRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportServiceImplTest {
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 12);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    private SalesReadModelRepository repository;
+    private ReportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SalesReadModelRepository.class);
+        service = new ReportServiceImpl(repository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void shouldGroupStatusRowsPerDayAndCurrencyAndCountOnlySalesAsRevenue() {
+        when(repository.findDailySales(MONDAY, TUESDAY)).thenReturn(List.of(
+                new DailySalesRow(MONDAY, "EUR", OrderStatus.PAID, 1, new BigDecimal("10.00")),
+                new DailySalesRow(MONDAY, "PLN", OrderStatus.CANCELLED, 2, new BigDecimal("99.00")),
+                new DailySalesRow(MONDAY, "PLN", OrderStatus.CREATED, 3, new BigDecimal("30.00")),
+                new DailySalesRow(MONDAY, "PLN", OrderStatus.PAID, 4, new BigDecimal("40.00")),
+                new DailySalesRow(MONDAY, "PLN", OrderStatus.DELIVERED, 1, new BigDecimal("5.50")),
+                new DailySalesRow(TUESDAY, "PLN", OrderStatus.PLACED, 1, new BigDecimal("7.00"))
+        ));
+
+        List<DailySalesResponse> report = service.getDailySales(MONDAY, TUESDAY);
+
+        assertThat(report).containsExactly(
+                new DailySalesResponse(MONDAY, "EUR", 1, new BigDecimal("10.00"), Map.of(OrderStatus.PAID, 1L)),
+                new DailySalesResponse(MONDAY, "PLN", 10, new BigDecimal("45.50"), Map.of(
+                        OrderStatus.CANCELLED, 2L, OrderStatus.CREATED, 3L, OrderStatus.PAID, 4L, OrderStatus.DELIVERED, 1L)),
+                new DailySalesResponse(TUESDAY, "PLN", 1, BigDecimal.ZERO, Map.of(OrderStatus.PLACED, 1L))
+        );
+    }
+}
\ No newline at end of file
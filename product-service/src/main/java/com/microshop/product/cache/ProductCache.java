@@ -0,0 +1,85 @@
+package com.microshop.product.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microshop.product.config.ProductCacheProperties;
+import com.microshop.product.dto.ProductResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+public class ProductCache {
+    private final Cache<Long, ProductResponse> productsById;
+    private final Cache<String, Long> productIdsBySku;
+
+    public ProductCache(ProductCacheProperties properties, MeterRegistry meterRegistry) {
+        this.productsById = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        this.productIdsBySku = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, productsById, "products.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, productIdsBySku, "products.by-sku");
+    }
+
+    public ProductResponse getById(Long id, Function<Long, ProductResponse> loader) {
+        return productsById.get(id, key -> index(loader.apply(key)));
+    }
+
+    public Optional<ProductResponse> getIfPresent(Long id) {
+        return Optional.ofNullable(productsById.getIfPresent(id));
+    }
+
+    public Optional<ProductResponse> getIfPresent(String sku) {
+        Long id = productIdsBySku.getIfPresent(sku);
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        // The SKU index is only a pointer; an entry whose product changed SKU since is treated as a miss
+        return getIfPresent(id).filter(response -> response.sku().equals(sku));
+    }
+
+    public void evict(Long id) {
+        productsById.invalidate(id);
+        afterCommit(() -> productsById.invalidate(id));
+    }
+
+    public void invalidateAll() {
+        productsById.invalidateAll();
+        productIdsBySku.invalidateAll();
+    }
+
+    private ProductResponse index(ProductResponse response) {
+        if (response != null) {
+            productIdsBySku.put(response.sku(), response.id());
+        }
+        return response;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
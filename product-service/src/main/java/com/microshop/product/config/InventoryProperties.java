@@ -0,0 +1,9 @@
+package com.microshop.product.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "product.inventory")
+public record InventoryProperties(
+        @DefaultValue("16") int buckets
+) {}
\ No newline at end of file
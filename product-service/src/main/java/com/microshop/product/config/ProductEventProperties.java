@@ -0,0 +1,17 @@
+package com.microshop.product.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "product.events")
+public record ProductEventProperties(
+        @DefaultValue("500ms") Duration pollInterval,
+        @DefaultValue("100ms") Duration sequenceInterval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("30m") Duration streamTimeout,
+        @DefaultValue("15s") Duration heartbeatInterval,
+        @DefaultValue("7d") Duration retention,
+        @DefaultValue("1h") Duration purgeInterval
+) {}
\ No newline at end of file
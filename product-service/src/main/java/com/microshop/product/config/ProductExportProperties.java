@@ -0,0 +1,9 @@
+package com.microshop.product.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "product.export")
+public record ProductExportProperties(
+        @DefaultValue("1000") int fetchSize
+) {}
@@ -0,0 +1,9 @@
+package com.microshop.product.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "product.import")
+public record ProductImportProperties(
+        @DefaultValue("5000") int batchSize
+) {}
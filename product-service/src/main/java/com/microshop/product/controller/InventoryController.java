@@ -0,0 +1,48 @@
+package com.microshop.product.controller;
+
+import com.microshop.product.dto.StockRequest;
+import com.microshop.product.dto.StockReservationIdsRequest;
+import com.microshop.product.dto.StockReservationRequest;
+import com.microshop.product.dto.StockReservationResponse;
+import com.microshop.product.dto.StockResponse;
+import com.microshop.product.service.InventoryService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class InventoryController {
+    private final InventoryService service;
+
+    @GetMapping("/products/{id}/stock")
+    public StockResponse getStock(@PathVariable Long id) {
+        return service.getStock(id);
+    }
+
+    @PutMapping("/products/{id}/stock")
+    public StockResponse setStock(@PathVariable Long id, @Valid @RequestBody StockRequest request) {
+        return service.setStock(id, request.quantity());
+    }
+
+    @PostMapping("/stock/reservations")
+    public ResponseEntity<StockReservationResponse> reserve(@Valid @RequestBody StockReservationRequest request) {
+        StockReservationResponse response = service.reserve(request);
+        return ResponseEntity.status(response.created() ? HttpStatus.CREATED : HttpStatus.OK).body(response);
+    }
+
+    @PostMapping("/stock/reservations/commit")
+    public ResponseEntity<Void> commit(@Valid @RequestBody StockReservationIdsRequest request) {
+        service.commit(request.reservationIds());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/stock/reservations/release")
+    public ResponseEntity<Void> release(@Valid @RequestBody StockReservationIdsRequest request) {
+        service.release(request.reservationIds());
+        return ResponseEntity.noContent().build();
+    }
+}
\ No newline at end of file
@@ -1,21 +1,42 @@
 package com.microshop.product.controller;
 
+import com.microshop.product.dto.ProductBatchRequest;
+import com.microshop.product.dto.ProductBatchResponse;
+import com.microshop.product.dto.ProductExportFormat;
+import com.microshop.product.dto.ProductImportResult;
+import com.microshop.product.dto.ProductPriceUpdateResponse;
 import com.microshop.product.dto.ProductRequest;
 import com.microshop.product.dto.ProductResponse;
+import com.microshop.product.dto.ProductWindowResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microshop.product.exception.PreconditionFailedException;
+import com.microshop.product.export.ProductExportWriter;
+import com.microshop.product.service.ProductImportService;
 import com.microshop.product.service.ProductService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.*;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 
 @Validated
 @RestController
@@ -23,6 +44,9 @@ import java.net.URI;
 @RequiredArgsConstructor
 public class ProductController {
     private final ProductService service;
+    private final ProductImportService importService;
+    private final ObjectMapper objectMapper;
+    private final ProductExportWriter exportWriter;
 
     @PostMapping
     public ResponseEntity<ProductResponse> createProduct(@Valid @RequestBody ProductRequest request) {
@@ -32,28 +56,96 @@ public class ProductController {
                 .path("/{id}")
                 .buildAndExpand(response.id())
                 .toUri();
-        return ResponseEntity.created(location).body(response);
+        return ResponseEntity.created(location).eTag(toETag(response.version())).body(response);
+    }
+
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importProducts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream output = response.getOutputStream();
+        importService.importProducts(request.getInputStream(), result -> writeLine(output, result));
+        output.flush();
+    }
+
+    @PostMapping(path = "/prices", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ProductPriceUpdateResponse updatePrices(HttpServletRequest request) throws IOException {
+        return importService.updatePrices(request.getInputStream());
     }
 
     @GetMapping
-    public Page<ProductResponse> getProducts(
+    public ResponseEntity<Page<ProductResponse>> getProducts(
+            @RequestParam(required = false) @Size(max = 255) String name,
+            @RequestParam(required = false) @PositiveOrZero BigDecimal price,
+            @RequestParam(required = false) @Size(max = 255) String description,
+            @RequestParam(required = false) @Size(max = 255) String sku,
+            @RequestParam(defaultValue = "false") boolean rankByRelevance,
+            Pageable pageable,
+            WebRequest webRequest
+    ) {
+        Page<ProductResponse> page = service.getProducts(name, price, description, sku, rankByRelevance, pageable);
+        String eTag = toETag(page);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(page);
+    }
+
+    @GetMapping("/scroll")
+    public ProductWindowResponse scrollProducts(
             @RequestParam(required = false) @Size(max = 255) String name,
             @RequestParam(required = false) @PositiveOrZero BigDecimal price,
             @RequestParam(required = false) @Size(max = 255) String description,
             @RequestParam(required = false) @Size(max = 255) String sku,
-            Pageable pageable
+            @RequestParam(required = false) @Size(max = 2048) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            Sort sort
     ) {
-        return service.getProducts(name, price, description, sku, pageable);
+        return service.scrollProducts(name, price, description, sku, sort, size, cursor);
+    }
+
+    @GetMapping("/export")
+    public void exportProducts(
+            @RequestParam(required = false) @Size(max = 255) String name,
+            @RequestParam(required = false) @PositiveOrZero BigDecimal price,
+            @RequestParam(required = false) @Size(max = 255) String description,
+            @RequestParam(required = false) @Size(max = 255) String sku,
+            @RequestParam(defaultValue = "NDJSON") ProductExportFormat format,
+            HttpServletResponse response
+    ) throws IOException {
+        boolean csv = format == ProductExportFormat.CSV;
+        response.setContentType(csv ? "text/csv" : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + (csv ? "csv" : "ndjson") + "\"");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        service.exportProducts(name, price, description, sku, exportWriter.open(format, writer));
+        writer.flush();
     }
 
     @GetMapping("/{id}")
-    public ProductResponse getProduct(@PathVariable Long id) {
-        return service.getProduct(id);
+    public ResponseEntity<ProductResponse> getProduct(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(toETag(service.getProductVersion(id)))) {
+            return null;
+        }
+
+        ProductResponse response = service.getProduct(id);
+        return ResponseEntity.ok().eTag(toETag(response.version())).body(response);
+    }
+
+    @PostMapping("/batch")
+    public ProductBatchResponse getProductsBatch(@Valid @RequestBody ProductBatchRequest request) {
+        return service.getProductsBatch(request);
     }
 
     @PutMapping("/{id}")
-    public ProductResponse updateProduct(@PathVariable Long id, @Valid @RequestBody ProductRequest request) {
-        return service.updateProduct(id, request);
+    public ResponseEntity<ProductResponse> updateProduct(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody ProductRequest request
+    ) {
+        ProductResponse response = service.updateProduct(id, request, toExpectedVersion(id, ifMatch));
+        return ResponseEntity.ok().eTag(toETag(response.version())).body(response);
     }
 
     @DeleteMapping("/{id}")
@@ -61,4 +153,42 @@ public class ProductController {
         service.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
+
+    private void writeLine(OutputStream output, ProductImportResult result) {
+        try {
+            output.write(objectMapper.writeValueAsBytes(result));
+            output.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    private String toETag(Page<ProductResponse> page) {
+        StringBuilder fingerprint = new StringBuilder()
+                .append(page.getNumber()).append('/')
+                .append(page.getSize()).append('/')
+                .append(page.getTotalElements());
+        page.forEach(product -> fingerprint.append(';').append(product.id()).append(':').append(product.version()));
+        return "\"" + DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private Long toExpectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException(id);
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException(id);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.microshop.product.controller;
+
+import com.microshop.product.dto.ProductEventResponse;
+import com.microshop.product.event.ProductEventStream;
+import com.microshop.product.service.ProductEventService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@Validated
+@RestController
+@RequestMapping("/api/v1/products/events")
+@RequiredArgsConstructor
+public class ProductEventController {
+    private final ProductEventService service;
+    private final ProductEventStream stream;
+
+    @GetMapping
+    public List<ProductEventResponse> getEvents(
+            @RequestParam(defaultValue = "0") @PositiveOrZero long after,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit
+    ) {
+        return service.getEvents(after, limit);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) @PositiveOrZero Long lastEventId,
+            @RequestParam(required = false) @PositiveOrZero Long after
+    ) {
+        Long position = lastEventId != null ? lastEventId : after;
+        return stream.subscribe(position != null ? position : service.getLatestSequence());
+    }
+}
\ No newline at end of file
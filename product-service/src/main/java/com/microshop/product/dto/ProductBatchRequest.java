@@ -0,0 +1,15 @@
+package com.microshop.product.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ProductBatchRequest(
+        @Size(max = 100, message = "At most 100 ids can be requested at once")
+        List<@NotNull(message = "Product ID must not be null") Long> ids,
+
+        @Size(max = 100, message = "At most 100 SKUs can be requested at once")
+        List<@NotBlank(message = "SKU must not be blank") String> skus
+) {}
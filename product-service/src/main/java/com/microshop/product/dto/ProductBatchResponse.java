@@ -0,0 +1,9 @@
+package com.microshop.product.dto;
+
+import java.util.List;
+
+public record ProductBatchResponse(
+        List<ProductResponse> products,
+        List<Long> missingIds,
+        List<String> missingSkus
+) {}
@@ -0,0 +1,14 @@
+package com.microshop.product.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.microshop.product.entity.ProductEventType;
+
+import java.time.Instant;
+
+public record ProductEventResponse(
+        Long sequence,
+        ProductEventType type,
+        Long productId,
+        @JsonRawValue String payload,
+        Instant createdAt
+) {}
\ No newline at end of file
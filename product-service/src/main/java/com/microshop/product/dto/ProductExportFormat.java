@@ -0,0 +1,6 @@
+package com.microshop.product.dto;
+
+public enum ProductExportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,12 @@
+package com.microshop.product.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductImportResult(
+        long line,
+        ProductImportStatus status,
+        Long id,
+        String sku,
+        String message
+) {}
@@ -0,0 +1,7 @@
+package com.microshop.product.dto;
+
+public enum ProductImportStatus {
+    CREATED,
+    DUPLICATE_SKU,
+    INVALID
+}
@@ -0,0 +1,6 @@
+package com.microshop.product.dto;
+
+public record ProductPriceUpdateError(
+        long line,
+        String message
+) {}
\ No newline at end of file
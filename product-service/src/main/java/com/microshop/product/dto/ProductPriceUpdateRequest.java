@@ -0,0 +1,18 @@
+package com.microshop.product.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+public record ProductPriceUpdateRequest(
+        @NotBlank(message = "SKU is required")
+        @Size(max = 255, message = "SKU length must be less than 256 characters long")
+        String sku,
+
+        @NotNull(message = "Price is required")
+        @Positive(message = "Price must be strictly positive")
+        BigDecimal price
+) {}
\ No newline at end of file
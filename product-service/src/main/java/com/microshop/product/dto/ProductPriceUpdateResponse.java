@@ -0,0 +1,10 @@
+package com.microshop.product.dto;
+
+import java.util.List;
+
+public record ProductPriceUpdateResponse(
+        long updated,
+        long unchanged,
+        List<String> unknownSkus,
+        List<ProductPriceUpdateError> invalidLines
+) {}
\ No newline at end of file
@@ -7,5 +7,6 @@ public record ProductResponse(
         String name,
         String description,
         BigDecimal price,
-        String sku
+        String sku,
+        Long version
 ) {}
\ No newline at end of file
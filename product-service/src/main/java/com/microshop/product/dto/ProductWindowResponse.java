@@ -0,0 +1,10 @@
+package com.microshop.product.dto;
+
+import java.util.List;
+
+public record ProductWindowResponse(
+        List<ProductResponse> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {}
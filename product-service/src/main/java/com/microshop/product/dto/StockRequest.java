@@ -0,0 +1,10 @@
+package com.microshop.product.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record StockRequest(
+        @NotNull(message = "Quantity is required")
+        @PositiveOrZero(message = "Quantity cannot be negative")
+        Integer quantity
+) {}
\ No newline at end of file
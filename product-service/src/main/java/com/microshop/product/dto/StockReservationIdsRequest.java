@@ -0,0 +1,13 @@
+package com.microshop.product.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record StockReservationIdsRequest(
+        @NotEmpty(message = "At least one reservation ID is required")
+        @Size(max = 1000, message = "At most 1000 reservations can be updated at once")
+        List<@NotBlank(message = "Reservation ID must not be blank") String> reservationIds
+) {}
\ No newline at end of file
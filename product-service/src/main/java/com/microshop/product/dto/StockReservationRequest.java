@@ -0,0 +1,18 @@
+package com.microshop.product.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record StockReservationRequest(
+        @NotBlank(message = "Reservation ID is required")
+        @Size(max = 64, message = "Reservation ID must be at most 64 characters")
+        String reservationId,
+
+        @NotEmpty(message = "At least one item is required")
+        @Size(max = 100, message = "At most 100 items can be reserved at once")
+        List<@Valid StockReservationItem> items
+) {}
\ No newline at end of file
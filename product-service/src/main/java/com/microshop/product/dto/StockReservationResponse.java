@@ -0,0 +1,9 @@
+package com.microshop.product.dto;
+
+import com.microshop.product.entity.StockReservationStatus;
+
+public record StockReservationResponse(
+        String reservationId,
+        StockReservationStatus status,
+        boolean created
+) {}
\ No newline at end of file
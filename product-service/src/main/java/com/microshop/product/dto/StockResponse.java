@@ -0,0 +1,7 @@
+package com.microshop.product.dto;
+
+public record StockResponse(
+        Long productId,
+        long available,
+        long reserved
+) {}
\ No newline at end of file
@@ -26,4 +26,8 @@ public class Product {
 
     @Column(unique = true, nullable = false)
     private String sku;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.microshop.product.entity;
+
+public enum ProductEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
\ No newline at end of file
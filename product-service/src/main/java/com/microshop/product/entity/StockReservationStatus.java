@@ -0,0 +1,7 @@
+package com.microshop.product.entity;
+
+public enum StockReservationStatus {
+    RESERVED,
+    COMMITTED,
+    RELEASED
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.microshop.product.event;
+
+import com.microshop.product.config.ProductEventProperties;
+import com.microshop.product.dto.ProductEventResponse;
+import com.microshop.product.service.ProductEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductEventStream {
+    private final ProductEventService eventService;
+    private final ProductEventProperties properties;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    public SseEmitter subscribe(long after) {
+        SseEmitter emitter = new SseEmitter(properties.streamTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, after);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+
+        if (subscriber.heartbeat()) {
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${product.events.poll-interval:500ms}")
+    public void dispatch() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        // One read serves every subscriber; those that are further ahead skip what they have already seen
+        long position = subscribers.stream().mapToLong(Subscriber::position).min().orElseThrow();
+        List<ProductEventResponse> events;
+        do {
+            events = eventService.getEvents(position, properties.batchSize());
+            for (Subscriber subscriber : subscribers) {
+                subscriber.send(events);
+            }
+            if (!events.isEmpty()) {
+                position = events.getLast().sequence();
+            }
+        } while (events.size() == properties.batchSize() && !subscribers.isEmpty());
+
+        long heartbeatBefore = System.currentTimeMillis() - properties.heartbeatInterval().toMillis();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.lastSentAt() < heartbeatBefore) {
+                subscriber.heartbeat();
+            }
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private volatile long position;
+        private volatile long lastSentAt;
+
+        private Subscriber(SseEmitter emitter, long position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+
+        long position() {
+            return position;
+        }
+
+        long lastSentAt() {
+            return lastSentAt;
+        }
+
+        void send(List<ProductEventResponse> events) {
+            for (ProductEventResponse event : events) {
+                if (event.sequence() <= position) {
+                    continue;
+                }
+                boolean sent = send(SseEmitter.event()
+                        .id(String.valueOf(event.sequence()))
+                        .name(event.type().name())
+                        .data(event, MediaType.APPLICATION_JSON));
+                if (!sent) {
+                    return;
+                }
+                position = event.sequence();
+            }
+        }
+
+        boolean heartbeat() {
+            return send(SseEmitter.event().comment("position " + position));
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                lastSentAt = System.currentTimeMillis();
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping product event subscriber at position {}: {}", position, e.getMessage());
+                subscribers.remove(this);
+                return false;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.microshop.product.exception;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(Long productId, int requested) {
+        super("Insufficient stock for product " + productId + " (requested: " + requested + ")");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.microshop.product.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException() {
+        super("Cursor is malformed or was issued for a different query");
+    }
+}
@@ -0,0 +1,7 @@
+package com.microshop.product.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(Long id) {
+        super("Product " + id + " was modified since the supplied version");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.microshop.product.exception;
+
+public class UnsupportedSortException extends RuntimeException {
+    public UnsupportedSortException(String property) {
+        super("Sorting by '" + property + "' is not supported; use one of: id, price, name");
+    }
+}
@@ -0,0 +1,61 @@
+package com.microshop.product.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microshop.product.dto.ProductExportFormat;
+import com.microshop.product.dto.ProductResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+public class ProductExportWriter {
+    private static final String CSV_HEADER = "id,name,description,price,sku,version\n";
+
+    private final ObjectMapper objectMapper;
+
+    public Consumer<ProductResponse> open(ProductExportFormat format, Writer writer) throws IOException {
+        if (format == ProductExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            return product -> write(writer, toCsvLine(product));
+        }
+        return product -> write(writer, toJsonLine(product));
+    }
+
+    private String toJsonLine(ProductResponse product) {
+        try {
+            return objectMapper.writeValueAsString(product) + "\n";
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toCsvLine(ProductResponse product) {
+        return product.id() + ","
+                + escapeCsv(product.name()) + ","
+                + escapeCsv(product.description()) + ","
+                + product.price().toPlainString() + ","
+                + escapeCsv(product.sku()) + ","
+                + product.version() + "\n";
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private void write(Writer writer, String line) {
+        try {
+            writer.write(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.microshop.product.mapper;
+
+import com.microshop.product.dto.ProductEventResponse;
+import com.microshop.product.entity.ProductEvent;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface ProductEventMapper {
+    ProductEventResponse mapToProductEventResponse(ProductEvent event);
+}
\ No newline at end of file
@@ -10,10 +10,12 @@ import org.mapstruct.MappingTarget;
 @Mapper(componentModel = "spring")
 public interface ProductMapper {
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Product mapToProduct(ProductRequest productRequest);
 
     ProductResponse mapToProductResponse(Product product);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateProductFromRequest(ProductRequest request, @MappingTarget Product product);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.microshop.product.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProductMetrics {
+    private final Counter created;
+
+    public ProductMetrics(MeterRegistry meterRegistry) {
+        // Not "products.created": Prometheus reserves the _created suffix and would export it as products_total
+        this.created = Counter.builder("products.added")
+                .description("Products created, one by one or through imports")
+                .register(meterRegistry);
+    }
+
+    public void productsCreated(int products) {
+        created.increment(products);
+    }
+}
\ No newline at end of file
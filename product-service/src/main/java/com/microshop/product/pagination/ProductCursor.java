@@ -0,0 +1,11 @@
+package com.microshop.product.pagination;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+
+public record ProductCursor(
+        String property,
+        Sort.Direction direction,
+        Map<String, String> keys
+) {}
@@ -0,0 +1,69 @@
+package com.microshop.product.pagination;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microshop.product.exception.InvalidCursorException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class ProductCursorCodec {
+    private final ObjectMapper objectMapper;
+
+    public String encode(ProductCursor cursor) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(cursor);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode product cursor", e);
+        }
+    }
+
+    public ProductCursor decode(String token) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token);
+            ProductCursor cursor = objectMapper.readValue(new String(json, StandardCharsets.UTF_8), ProductCursor.class);
+            if (cursor.property() == null || cursor.direction() == null || cursor.keys() == null) {
+                throw new InvalidCursorException();
+            }
+            return cursor;
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public Map<String, String> toCursorKeys(ScrollPosition position) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        ((KeysetScrollPosition) position).getKeys().forEach((property, value) -> keys.put(property, String.valueOf(value)));
+        return keys;
+    }
+
+    public ScrollPosition toScrollPosition(ProductCursor cursor) {
+        Map<String, String> keys = cursor.keys();
+        if (!keys.containsKey("id") || !keys.containsKey(cursor.property())) {
+            throw new InvalidCursorException();
+        }
+
+        Map<String, Object> typedKeys = new LinkedHashMap<>();
+        try {
+            keys.forEach((property, value) -> typedKeys.put(property, switch (property) {
+                case "id" -> Long.valueOf(value);
+                case "price" -> new BigDecimal(value);
+                case "name" -> value;
+                default -> throw new InvalidCursorException();
+            }));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException();
+        }
+        return ScrollPosition.forward(typedKeys);
+    }
+}
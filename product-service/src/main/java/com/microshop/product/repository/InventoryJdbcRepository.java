@@ -0,0 +1,198 @@
+package com.microshop.product.repository;
+
+import com.microshop.product.entity.StockReservationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class InventoryJdbcRepository {
+    // Buckets from the given start are tried first, so concurrent reservations spread over the whole stripe
+    private static final String TAKE_FROM_FREE_BUCKET = """
+            WITH candidate AS (
+                SELECT product_id, bucket
+                FROM stock_buckets
+                WHERE product_id = ? AND available >= ?
+                ORDER BY bucket < ?, bucket
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE stock_buckets b
+            SET available = b.available - ?
+            FROM candidate
+            WHERE b.product_id = candidate.product_id AND b.bucket = candidate.bucket
+            RETURNING b.bucket
+            """;
+
+    // The bucket is chosen without locking, so the statement waits on that single row only
+    private static final String TAKE_FROM_BUCKET = """
+            UPDATE stock_buckets
+            SET available = available - ?
+            WHERE product_id = ? AND available >= ? AND bucket = (
+                SELECT bucket
+                FROM stock_buckets
+                WHERE product_id = ? AND available >= ?
+                ORDER BY bucket < ?, bucket
+                LIMIT 1
+            )
+            RETURNING bucket
+            """;
+
+    private static final String SET_STOCK = """
+            INSERT INTO stock_buckets (product_id, bucket, available)
+            SELECT ?, bucket, ? + (bucket < ?)::int
+            FROM generate_series(0, ? - 1) AS bucket
+            ON CONFLICT (product_id, bucket) DO UPDATE
+            SET available = excluded.available
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<Integer> takeFromFreeBucket(Long productId, int quantity, int startBucket) {
+        return jdbcTemplate.queryForList(TAKE_FROM_FREE_BUCKET, Integer.class, productId, quantity, startBucket, quantity).stream().findFirst();
+    }
+
+    public Optional<Integer> takeFromBucket(Long productId, int quantity, int startBucket) {
+        return jdbcTemplate.queryForList(TAKE_FROM_BUCKET, Integer.class, quantity, productId, quantity, productId, quantity, startBucket).stream().findFirst();
+    }
+
+    public void savepoint() {
+        jdbcTemplate.execute("SAVEPOINT reserve_stock");
+    }
+
+    // Row locks taken after the savepoint are released, including those left on rows that failed a recheck
+    public void rollbackToSavepoint() {
+        jdbcTemplate.execute("ROLLBACK TO SAVEPOINT reserve_stock");
+    }
+
+    public List<BucketStock> lockBuckets(Long productId) {
+        return jdbcTemplate.query("""
+                        SELECT bucket, available
+                        FROM stock_buckets
+                        WHERE product_id = ?
+                        ORDER BY bucket
+                        FOR UPDATE
+                        """,
+                (resultSet, rowNum) -> new BucketStock(resultSet.getInt("bucket"), resultSet.getInt("available")),
+                productId);
+    }
+
+    public void takeFromBuckets(Long productId, List<ReservedStock> taken) {
+        jdbcTemplate.update("""
+                        UPDATE stock_buckets b
+                        SET available = b.available - taken.quantity
+                        FROM unnest(?::smallint[], ?::int[]) AS taken(bucket, quantity)
+                        WHERE b.product_id = ? AND b.bucket = taken.bucket
+                        """,
+                taken.stream().map(ReservedStock::bucket).toArray(Integer[]::new),
+                taken.stream().map(ReservedStock::quantity).toArray(Integer[]::new),
+                productId);
+    }
+
+    public void setStock(Long productId, int quantity, int buckets) {
+        jdbcTemplate.update(SET_STOCK, productId, quantity / buckets, quantity % buckets, buckets);
+        jdbcTemplate.update("UPDATE stock_buckets SET available = 0 WHERE product_id = ? AND bucket >= ?", productId, buckets);
+    }
+
+    public long countAvailable(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT coalesce(sum(available), 0) FROM stock_buckets WHERE product_id = ?", Long.class, productId);
+    }
+
+    public long countReserved(Long productId) {
+        return jdbcTemplate.queryForObject("""
+                SELECT coalesce(sum(l.quantity), 0)
+                FROM stock_reservation_lines l
+                JOIN stock_reservations r ON r.reservation_id = l.reservation_id
+                WHERE l.product_id = ? AND r.status = 'RESERVED'
+                """, Long.class, productId);
+    }
+
+    public boolean createReservation(String reservationId) {
+        return jdbcTemplate.update("""
+                INSERT INTO stock_reservations (reservation_id, status)
+                VALUES (?, ?)
+                ON CONFLICT (reservation_id) DO NOTHING
+                """, reservationId, StockReservationStatus.RESERVED.name()) == 1;
+    }
+
+    // The lines of the release were already returned to their buckets, so they are dropped before new ones are written
+    public boolean reopenReservation(String reservationId) {
+        if (jdbcTemplate.update("""
+                UPDATE stock_reservations
+                SET status = ?, updated_at = now()
+                WHERE reservation_id = ? AND status = ?
+                """, StockReservationStatus.RESERVED.name(), reservationId, StockReservationStatus.RELEASED.name()) == 0) {
+            return false;
+        }
+        jdbcTemplate.update("DELETE FROM stock_reservation_lines WHERE reservation_id = ?", reservationId);
+        return true;
+    }
+
+    public Optional<StockReservationStatus> findReservationStatus(String reservationId) {
+        return jdbcTemplate.queryForList("SELECT status FROM stock_reservations WHERE reservation_id = ?", String.class, reservationId)
+                .stream()
+                .map(StockReservationStatus::valueOf)
+                .findFirst();
+    }
+
+    public void insertReservationLines(String reservationId, List<ReservedStock> lines) {
+        jdbcTemplate.update("""
+                        INSERT INTO stock_reservation_lines (reservation_id, product_id, bucket, quantity)
+                        SELECT ?, * FROM unnest(?::bigint[], ?::smallint[], ?::int[])
+                        """,
+                reservationId,
+                lines.stream().map(ReservedStock::productId).toArray(Long[]::new),
+                lines.stream().map(ReservedStock::bucket).toArray(Integer[]::new),
+                lines.stream().map(ReservedStock::quantity).toArray(Integer[]::new));
+    }
+
+    public int updateReservationStatus(List<String> reservationIds, List<StockReservationStatus> from, StockReservationStatus to) {
+        return jdbcTemplate.update("""
+                        UPDATE stock_reservations
+                        SET status = ?, updated_at = now()
+                        WHERE reservation_id = ANY (?) AND status = ANY (?)
+                        """,
+                to.name(), reservationIds.toArray(String[]::new), from.stream().map(StockReservationStatus::name).toArray(String[]::new));
+    }
+
+    public List<String> releaseReservations(List<String> reservationIds, List<StockReservationStatus> from) {
+        return jdbcTemplate.queryForList("""
+                        UPDATE stock_reservations
+                        SET status = ?, updated_at = now()
+                        WHERE reservation_id = ANY (?) AND status = ANY (?)
+                        RETURNING reservation_id
+                        """, String.class,
+                StockReservationStatus.RELEASED.name(), reservationIds.toArray(String[]::new), from.stream().map(StockReservationStatus::name).toArray(String[]::new));
+    }
+
+    public void returnStock(List<String> reservationIds) {
+        String[] ids = reservationIds.toArray(String[]::new);
+        // Buckets are locked in key order, the same order every multi-bucket writer uses, so releases cannot deadlock
+        jdbcTemplate.query("""
+                SELECT 1
+                FROM stock_buckets
+                WHERE (product_id, bucket) IN (SELECT product_id, bucket FROM stock_reservation_lines WHERE reservation_id = ANY (?))
+                ORDER BY product_id, bucket
+                FOR UPDATE
+                """, resultSet -> {}, (Object) ids);
+        jdbcTemplate.update("""
+                UPDATE stock_buckets b
+                SET available = b.available + returned.quantity
+                FROM (
+                    SELECT product_id, bucket, sum(quantity) AS quantity
+                    FROM stock_reservation_lines
+                    WHERE reservation_id = ANY (?)
+                    GROUP BY product_id, bucket
+                ) returned
+                WHERE b.product_id = returned.product_id AND b.bucket = returned.bucket
+                """, (Object) ids);
+    }
+
+    public record BucketStock(int bucket, int available) {}
+
+    public record ReservedStock(Long productId, int bucket, int quantity) {}
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.microshop.product.repository;
+
+import com.microshop.product.entity.ProductEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductEventRepository extends JpaRepository<ProductEvent, Long> {
+    List<ProductEvent> findBySequenceGreaterThanOrderBySequenceAsc(Long sequence, Limit limit);
+
+    @Query("SELECT max(e.sequence) FROM ProductEvent e")
+    Optional<Long> findLatestSequence();
+
+    @Modifying
+    @Query("DELETE FROM ProductEvent e WHERE e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.microshop.product.repository;
+
+import com.microshop.product.dto.ProductPriceUpdateRequest;
+import com.microshop.product.dto.ProductRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductJdbcRepository {
+    // Relays on different instances take turns on this lock; product writes never take it
+    private static final long EVENT_RELAY_LOCK = 0x70726f64L;
+
+    private static final String EVENT_PAYLOAD = """
+            jsonb_build_object('id', id, 'name', name, 'description', description, 'price', price, 'sku', sku, 'version', version)""";
+
+    private static final String INSERT_IGNORING_DUPLICATES = """
+            WITH inserted AS (
+                INSERT INTO products (name, description, price, sku)
+                SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::numeric[], ?::varchar[])
+                ON CONFLICT (sku) DO NOTHING
+                RETURNING id, name, description, price, sku, version
+            ), events AS (
+                INSERT INTO product_events (product_id, type, payload)
+                SELECT id, 'CREATED', %s
+                FROM inserted
+                ORDER BY id
+            )
+            SELECT id, sku FROM inserted
+            """.formatted(EVENT_PAYLOAD);
+
+    private static final String UPDATE_PRICES_BY_SKU = """
+            WITH input AS (
+                SELECT * FROM unnest(?::varchar[], ?::numeric(38, 2)[]) AS input(sku, price)
+            ), updated AS (
+                UPDATE products p
+                SET price = input.price, version = p.version + 1
+                FROM input
+                WHERE p.sku = input.sku AND p.price <> input.price
+                RETURNING p.id, p.name, p.description, p.price, p.sku, p.version
+            ), events AS (
+                INSERT INTO product_events (product_id, type, payload)
+                SELECT id, 'UPDATED', %s
+                FROM updated
+                ORDER BY id
+            )
+            SELECT input.sku, updated.id AS updated_id
+            FROM input
+            LEFT JOIN updated ON updated.sku = input.sku
+            WHERE updated.id IS NOT NULL OR NOT EXISTS (SELECT 1 FROM products p WHERE p.sku = input.sku)
+            """.formatted(EVENT_PAYLOAD);
+
+    // Committed events are numbered in id order. One product's events are already in commit order by id, because each
+    // is appended while its writer holds the product row
+    private static final String SEQUENCE_EVENTS = """
+            UPDATE product_events e
+            SET sequence = pending.sequence
+            FROM (
+                SELECT id, nextval('product_event_sequence') AS sequence
+                FROM (SELECT id FROM product_events WHERE sequence IS NULL ORDER BY id LIMIT ?) unsequenced
+            ) pending
+            WHERE e.id = pending.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // A relay waiting on another sees its numbers once it commits, so numbers only grow from one batch to the next
+    @Transactional
+    public int sequenceEvents(int limit) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", resultSet -> {}, EVENT_RELAY_LOCK);
+        return jdbcTemplate.update(SEQUENCE_EVENTS, limit);
+    }
+
+    @Transactional
+    public Map<String, Long> insertIgnoringDuplicateSkus(List<ProductRequest> products) {
+        Map<String, Long> insertedIds = new HashMap<>();
+        // Concurrent imports insert their SKUs in the same order, so they cannot deadlock on the unique index
+        List<ProductRequest> sorted = products.stream().sorted(Comparator.comparing(ProductRequest::sku)).toList();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_IGNORING_DUPLICATES);
+            statement.setArray(1, connection.createArrayOf("varchar", sorted.stream().map(ProductRequest::name).toArray()));
+            statement.setArray(2, connection.createArrayOf("varchar", sorted.stream().map(ProductRequest::description).toArray()));
+            statement.setArray(3, connection.createArrayOf("numeric", sorted.stream().map(ProductRequest::price).toArray(BigDecimal[]::new)));
+            statement.setArray(4, connection.createArrayOf("varchar", sorted.stream().map(ProductRequest::sku).toArray()));
+            return statement;
+        }, resultSet -> {
+            insertedIds.put(resultSet.getString("sku"), resultSet.getLong("id"));
+        });
+        return insertedIds;
+    }
+
+    @Transactional
+    public PriceUpdateResult updatePricesBySku(List<ProductPriceUpdateRequest> updates) {
+        // Rows are locked in id order first, so concurrent bulk updates of overlapping SKUs cannot deadlock
+        jdbcTemplate.query("SELECT 1 FROM products WHERE sku = ANY (?) ORDER BY id FOR UPDATE", resultSet -> {},
+                (Object) updates.stream().map(ProductPriceUpdateRequest::sku).toArray(String[]::new));
+
+        List<Long> updatedIds = new ArrayList<>();
+        List<String> unknownSkus = new ArrayList<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPDATE_PRICES_BY_SKU);
+            statement.setArray(1, connection.createArrayOf("varchar", updates.stream().map(ProductPriceUpdateRequest::sku).toArray()));
+            statement.setArray(2, connection.createArrayOf("numeric", updates.stream().map(ProductPriceUpdateRequest::price).toArray(BigDecimal[]::new)));
+            return statement;
+        }, resultSet -> {
+            long updatedId = resultSet.getLong("updated_id");
+            if (resultSet.wasNull()) {
+                unknownSkus.add(resultSet.getString("sku"));
+            } else {
+                updatedIds.add(updatedId);
+            }
+        });
+        return new PriceUpdateResult(updatedIds, unknownSkus);
+    }
+
+    public record PriceUpdateResult(List<Long> updatedIds, List<String> unknownSkus) {}
+}
\ No newline at end of file
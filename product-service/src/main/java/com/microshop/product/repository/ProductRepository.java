@@ -1,10 +1,28 @@
 package com.microshop.product.repository;
 
 import com.microshop.product.entity.Product;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
     boolean existsBySku(String sku);
     boolean existsBySkuAndIdNot(String sku, Long id);
+
+    // A write reads the row under its lock, so a concurrent bulk update waits rather than bumping the version in between
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT p.version FROM Product p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(value = "SELECT * FROM products WHERE id = ANY(:ids) OR sku = ANY(:skus)", nativeQuery = true)
+    List<Product> findAllByIdOrSku(@Param("ids") Long[] ids, @Param("skus") String[] skus);
 }
\ No newline at end of file
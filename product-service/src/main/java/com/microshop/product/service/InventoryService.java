@@ -0,0 +1,15 @@
+package com.microshop.product.service;
+
+import com.microshop.product.dto.StockReservationRequest;
+import com.microshop.product.dto.StockReservationResponse;
+import com.microshop.product.dto.StockResponse;
+
+import java.util.List;
+
+public interface InventoryService {
+    StockResponse getStock(Long productId);
+    StockResponse setStock(Long productId, int quantity);
+    StockReservationResponse reserve(StockReservationRequest request);
+    int commit(List<String> reservationIds);
+    int release(List<String> reservationIds);
+}
\ No newline at end of file
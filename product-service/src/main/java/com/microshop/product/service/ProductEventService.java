@@ -0,0 +1,15 @@
+package com.microshop.product.service;
+
+import com.microshop.product.dto.ProductEventResponse;
+import com.microshop.product.dto.ProductResponse;
+import com.microshop.product.entity.ProductEventType;
+
+import java.util.List;
+
+public interface ProductEventService {
+    void recordEvent(ProductEventType type, Long productId, ProductResponse payload);
+    List<ProductEventResponse> getEvents(long after, int limit);
+    long getLatestSequence();
+    void sequenceEvents();
+    void purgeExpiredEvents();
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.microshop.product.service;
+
+import com.microshop.product.dto.ProductImportResult;
+import com.microshop.product.dto.ProductPriceUpdateResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface ProductImportService {
+    void importProducts(InputStream input, Consumer<ProductImportResult> resultConsumer) throws IOException;
+    ProductPriceUpdateResponse updatePrices(InputStream input) throws IOException;
+}
@@ -1,16 +1,25 @@
 package com.microshop.product.service;
 
+import com.microshop.product.dto.ProductBatchRequest;
+import com.microshop.product.dto.ProductBatchResponse;
 import com.microshop.product.dto.ProductRequest;
 import com.microshop.product.dto.ProductResponse;
+import com.microshop.product.dto.ProductWindowResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.util.function.Consumer;
 
 public interface ProductService {
     ProductResponse createProduct(ProductRequest productRequest);
-    Page<ProductResponse> getProducts(String name, BigDecimal price, String description, String sku, Pageable pageable);
+    Page<ProductResponse> getProducts(String name, BigDecimal price, String description, String sku, boolean rankByRelevance, Pageable pageable);
+    ProductWindowResponse scrollProducts(String name, BigDecimal price, String description, String sku, Sort sort, int size, String cursor);
+    void exportProducts(String name, BigDecimal price, String description, String sku, Consumer<ProductResponse> consumer);
     ProductResponse getProduct(Long id);
-    ProductResponse updateProduct(Long id, ProductRequest request);
+    Long getProductVersion(Long id);
+    ProductBatchResponse getProductsBatch(ProductBatchRequest request);
+    ProductResponse updateProduct(Long id, ProductRequest request, Long expectedVersion);
     void deleteProduct(Long id);
 }
\ No newline at end of file
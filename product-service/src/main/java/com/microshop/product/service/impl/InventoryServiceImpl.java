@@ -0,0 +1,144 @@
+package com.microshop.product.service.impl;
+
+import com.microshop.product.config.InventoryProperties;
+import com.microshop.product.dto.StockReservationRequest;
+import com.microshop.product.dto.StockReservationResponse;
+import com.microshop.product.dto.StockResponse;
+import com.microshop.product.entity.StockReservationStatus;
+import com.microshop.product.exception.InsufficientStockException;
+import com.microshop.product.exception.ProductNotFoundException;
+import com.microshop.product.repository.InventoryJdbcRepository;
+import com.microshop.product.repository.InventoryJdbcRepository.BucketStock;
+import com.microshop.product.repository.InventoryJdbcRepository.ReservedStock;
+import com.microshop.product.repository.ProductRepository;
+import com.microshop.product.service.InventoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryServiceImpl implements InventoryService {
+    private final InventoryJdbcRepository repository;
+    private final ProductRepository productRepository;
+    private final InventoryProperties properties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public StockResponse getStock(Long productId) {
+        if (!productRepository.existsById(productId)) {
+            throw new ProductNotFoundException(productId);
+        }
+        return new StockResponse(productId, repository.countAvailable(productId), repository.countReserved(productId));
+    }
+
+    @Override
+    @Transactional
+    public StockResponse setStock(Long productId, int quantity) {
+        if (!productRepository.existsById(productId)) {
+            throw new ProductNotFoundException(productId);
+        }
+        repository.lockBuckets(productId);
+        repository.setStock(productId, quantity, properties.buckets());
+
+        log.info("Stock of product {} set to {} across {} buckets", productId, quantity, properties.buckets());
+
+        return new StockResponse(productId, quantity, repository.countReserved(productId));
+    }
+
+    @Override
+    @Transactional
+    public StockReservationResponse reserve(StockReservationRequest request) {
+        // A released reservation no longer holds stock, so reserving under its id again takes the stock anew
+        if (!repository.createReservation(request.reservationId()) && !repository.reopenReservation(request.reservationId())) {
+            StockReservationStatus status = repository.findReservationStatus(request.reservationId()).orElseThrow();
+            return new StockReservationResponse(request.reservationId(), status, false);
+        }
+
+        // Products are reserved in id order so that transactions waiting on each other's buckets cannot deadlock
+        Map<Long, Integer> quantities = new TreeMap<>();
+        request.items().forEach(item -> quantities.merge(item.productId(), item.quantity(), Integer::sum));
+
+        List<ReservedStock> lines = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> lines.addAll(reserve(productId, quantity)));
+        if (!lines.isEmpty()) {
+            repository.insertReservationLines(request.reservationId(), lines);
+        }
+
+        return new StockReservationResponse(request.reservationId(), StockReservationStatus.RESERVED, true);
+    }
+
+    @Override
+    @Transactional
+    public int commit(List<String> reservationIds) {
+        return repository.updateReservationStatus(reservationIds, List.of(StockReservationStatus.RESERVED), StockReservationStatus.COMMITTED);
+    }
+
+    @Override
+    @Transactional
+    public int release(List<String> reservationIds) {
+        List<String> released = repository.releaseReservations(reservationIds, List.of(StockReservationStatus.RESERVED, StockReservationStatus.COMMITTED));
+        if (!released.isEmpty()) {
+            repository.returnStock(released);
+        }
+        return released.size();
+    }
+
+    private List<ReservedStock> reserve(Long productId, int quantity) {
+        int startBucket = ThreadLocalRandom.current().nextInt(properties.buckets());
+
+        // A bucket nobody holds is taken without waiting; only when every bucket that could cover the quantity is busy
+        // does the reservation queue, and then on a single bucket rather than the whole product. Locks left behind by
+        // a failed attempt are rolled back first, so the only transactions waiting while holding buckets of a product
+        // are those that lock all of them in order.
+        repository.savepoint();
+        Optional<Integer> bucket = repository.takeFromFreeBucket(productId, quantity, startBucket);
+        if (bucket.isEmpty()) {
+            repository.rollbackToSavepoint();
+            bucket = repository.takeFromBucket(productId, quantity, startBucket);
+        }
+        if (bucket.isPresent()) {
+            return List.of(new ReservedStock(productId, bucket.get(), quantity));
+        }
+        repository.rollbackToSavepoint();
+        return reserveAcrossBuckets(productId, quantity);
+    }
+
+    private List<ReservedStock> reserveAcrossBuckets(Long productId, int quantity) {
+        List<BucketStock> buckets = repository.lockBuckets(productId);
+        if (buckets.isEmpty()) {
+            // Products only become stock-managed once their stock has been set
+            return List.of();
+        }
+
+        int available = buckets.stream().mapToInt(BucketStock::available).sum();
+        if (available < quantity) {
+            throw new InsufficientStockException(productId, quantity);
+        }
+
+        List<ReservedStock> taken = new ArrayList<>();
+        int remaining = quantity;
+        for (BucketStock bucket : buckets.stream().sorted(Comparator.comparingInt(BucketStock::available).reversed()).toList()) {
+            if (remaining == 0) {
+                break;
+            }
+            int take = Math.min(remaining, bucket.available());
+            if (take > 0) {
+                taken.add(new ReservedStock(productId, bucket.bucket(), take));
+                remaining -= take;
+            }
+        }
+        repository.takeFromBuckets(productId, taken);
+        return taken;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.microshop.product.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microshop.product.config.ProductEventProperties;
+import com.microshop.product.dto.ProductEventResponse;
+import com.microshop.product.dto.ProductResponse;
+import com.microshop.product.entity.ProductEvent;
+import com.microshop.product.entity.ProductEventType;
+import com.microshop.product.mapper.ProductEventMapper;
+import com.microshop.product.repository.ProductEventRepository;
+import com.microshop.product.repository.ProductJdbcRepository;
+import com.microshop.product.service.ProductEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductEventServiceImpl implements ProductEventService {
+    private final ProductEventRepository repository;
+    private final ProductJdbcRepository jdbcRepository;
+    private final ProductEventMapper mapper;
+    private final ProductEventProperties properties;
+    private final ObjectMapper objectMapper;
+
+    // Recorded events get their sequence from sequenceEvents() once the writer has committed
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordEvent(ProductEventType type, Long productId, ProductResponse payload) {
+        repository.save(ProductEvent.builder()
+                .productId(productId)
+                .type(type)
+                .payload(payload != null ? toJson(payload) : null)
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductEventResponse> getEvents(long after, int limit) {
+        return repository.findBySequenceGreaterThanOrderBySequenceAsc(after, Limit.of(limit))
+                .stream()
+                .map(mapper::mapToProductEventResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getLatestSequence() {
+        return repository.findLatestSequence().orElse(0L);
+    }
+
+    // Each batch commits on its own, so events reach readers while a large import is still being numbered
+    @Override
+    @Scheduled(fixedDelayString = "${product.events.sequence-interval:100ms}")
+    public void sequenceEvents() {
+        while (jdbcRepository.sequenceEvents(properties.batchSize()) == properties.batchSize()) {
+            log.debug("Sequenced a full batch of {} product events, continuing", properties.batchSize());
+        }
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${product.events.purge-interval:1h}")
+    public void purgeExpiredEvents() {
+        int purged = repository.deleteCreatedBefore(Instant.now().minus(properties.retention()));
+        if (purged > 0) {
+            log.info("Purged {} product events older than {}", purged, properties.retention());
+        }
+    }
+
+    private String toJson(ProductResponse payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
\ No newline at end of file
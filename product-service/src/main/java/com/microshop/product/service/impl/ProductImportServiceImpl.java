@@ -0,0 +1,176 @@
+package com.microshop.product.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microshop.product.cache.ProductCache;
+import com.microshop.product.config.ProductImportProperties;
+import com.microshop.product.dto.ProductImportResult;
+import com.microshop.product.dto.ProductImportStatus;
+import com.microshop.product.dto.ProductPriceUpdateError;
+import com.microshop.product.dto.ProductPriceUpdateRequest;
+import com.microshop.product.dto.ProductPriceUpdateResponse;
+import com.microshop.product.dto.ProductRequest;
+import com.microshop.product.monitoring.ProductMetrics;
+import com.microshop.product.repository.ProductJdbcRepository;
+import com.microshop.product.service.ProductImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportServiceImpl implements ProductImportService {
+    private final ProductJdbcRepository jdbcRepository;
+    private final ProductCache cache;
+    private final ProductImportProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ProductMetrics metrics;
+
+    @Override
+    public void importProducts(InputStream input, Consumer<ProductImportResult> resultConsumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<ImportRow<ProductRequest>> batch = new ArrayList<>(properties.batchSize());
+        long lineNumber = 0;
+        long created = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            batch.add(parse(lineNumber, line, ProductRequest.class));
+            if (batch.size() >= properties.batchSize()) {
+                created += flush(batch, resultConsumer);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            created += flush(batch, resultConsumer);
+        }
+
+        log.info("Product import finished: {} lines read, {} products created", lineNumber, created);
+    }
+
+    @Override
+    public ProductPriceUpdateResponse updatePrices(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Map<String, ProductPriceUpdateRequest> batch = new LinkedHashMap<>();
+        List<ProductPriceUpdateError> invalidLines = new ArrayList<>();
+        List<String> unknownSkus = new ArrayList<>();
+        long lineNumber = 0;
+        long accepted = 0;
+        long updated = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            ImportRow<ProductPriceUpdateRequest> row = parse(lineNumber, line, ProductPriceUpdateRequest.class);
+            if (!row.isValid()) {
+                invalidLines.add(new ProductPriceUpdateError(row.line(), row.error()));
+                continue;
+            }
+
+            // A later line for the same SKU supersedes an earlier one still waiting in the batch
+            if (batch.put(row.request().sku(), row.request()) == null) {
+                accepted++;
+            }
+            if (batch.size() >= properties.batchSize()) {
+                updated += flushPrices(batch.values(), unknownSkus);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            updated += flushPrices(batch.values(), unknownSkus);
+        }
+
+        long unchanged = accepted - updated - unknownSkus.size();
+        log.info("Price update finished: {} lines read, {} products updated, {} unchanged, {} unknown SKUs",
+                lineNumber, updated, unchanged, unknownSkus.size());
+        return new ProductPriceUpdateResponse(updated, unchanged, unknownSkus, invalidLines);
+    }
+
+    private long flushPrices(Collection<ProductPriceUpdateRequest> batch, List<String> unknownSkus) {
+        ProductJdbcRepository.PriceUpdateResult result = jdbcRepository.updatePricesBySku(List.copyOf(batch));
+        result.updatedIds().forEach(cache::evict);
+        unknownSkus.addAll(result.unknownSkus());
+        return result.updatedIds().size();
+    }
+
+    private <T> ImportRow<T> parse(long lineNumber, String line, Class<T> type) {
+        T request;
+        try {
+            request = objectMapper.readValue(line, type);
+        } catch (JsonProcessingException e) {
+            return new ImportRow<>(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        // A bare null is valid JSON but no object, and the validator rejects null outright
+        if (request == null) {
+            return new ImportRow<>(lineNumber, null, "Expected a JSON object but got null");
+        }
+
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return new ImportRow<>(lineNumber, request, message);
+        }
+        return new ImportRow<>(lineNumber, request, null);
+    }
+
+    private long flush(List<ImportRow<ProductRequest>> batch, Consumer<ProductImportResult> resultConsumer) {
+        Map<String, ImportRow<ProductRequest>> firstRowBySku = new HashMap<>();
+        List<ProductRequest> candidates = new ArrayList<>();
+        for (ImportRow<ProductRequest> row : batch) {
+            if (row.isValid() && firstRowBySku.putIfAbsent(row.request().sku(), row) == null) {
+                candidates.add(row.request());
+            }
+        }
+
+        Map<String, Long> insertedIds = candidates.isEmpty() ? Map.of() : jdbcRepository.insertIgnoringDuplicateSkus(candidates);
+        metrics.productsCreated(insertedIds.size());
+
+        for (ImportRow<ProductRequest> row : batch) {
+            resultConsumer.accept(toResult(row, firstRowBySku, insertedIds));
+        }
+        return insertedIds.size();
+    }
+
+    private ProductImportResult toResult(ImportRow<ProductRequest> row, Map<String, ImportRow<ProductRequest>> firstRowBySku, Map<String, Long> insertedIds) {
+        String sku = row.request() != null ? row.request().sku() : null;
+        if (!row.isValid()) {
+            return new ProductImportResult(row.line(), ProductImportStatus.INVALID, null, sku, row.error());
+        }
+        if (firstRowBySku.get(sku) == row && insertedIds.containsKey(sku)) {
+            return new ProductImportResult(row.line(), ProductImportStatus.CREATED, insertedIds.get(sku), sku, null);
+        }
+        return new ProductImportResult(row.line(), ProductImportStatus.DUPLICATE_SKU, null, sku,
+                "Product with SKU '" + sku + "' already exists");
+    }
+
+    private record ImportRow<T>(long line, T request, String error) {
+        boolean isValid() {
+            return error == null;
+        }
+    }
+}
@@ -1,31 +1,58 @@
 package com.microshop.product.service.impl;
 
+import com.microshop.product.cache.ProductCache;
+import com.microshop.product.config.ProductExportProperties;
+import com.microshop.product.dto.ProductBatchRequest;
+import com.microshop.product.dto.ProductBatchResponse;
 import com.microshop.product.dto.ProductRequest;
 import com.microshop.product.dto.ProductResponse;
+import com.microshop.product.dto.ProductWindowResponse;
 import com.microshop.product.entity.Product;
+import com.microshop.product.entity.ProductEventType;
 import com.microshop.product.exception.DuplicateSkuException;
+import com.microshop.product.exception.PreconditionFailedException;
 import com.microshop.product.exception.ProductNotFoundException;
+import com.microshop.product.exception.UnsupportedSortException;
 import com.microshop.product.mapper.ProductMapper;
+import com.microshop.product.monitoring.ProductMetrics;
+import com.microshop.product.pagination.ProductCursor;
+import com.microshop.product.pagination.ProductCursorCodec;
 import com.microshop.product.repository.ProductRepository;
+import com.microshop.product.repository.ProductStreamingRepository;
+import com.microshop.product.service.ProductEventService;
 import com.microshop.product.service.ProductService;
 import com.microshop.product.spec.ProductSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
+    private static final Set<String> SCROLLABLE_PROPERTIES = Set.of("id", "price", "name");
+
     private final ProductSpecifications specifications;
     private final ProductRepository repository;
+    private final ProductStreamingRepository streamingRepository;
     private final ProductMapper mapper;
+    private final ProductCache cache;
+    private final ProductCursorCodec cursorCodec;
+    private final ProductExportProperties exportProperties;
+    private final ProductEventService eventService;
+    private final ProductMetrics metrics;
 
     @Override
     @Transactional
@@ -36,47 +63,169 @@ public class ProductServiceImpl implements ProductService {
 
         Product product = mapper.mapToProduct(request);
         Product savedProduct = repository.save(product);
+        ProductResponse response = mapper.mapToProductResponse(savedProduct);
+        eventService.recordEvent(ProductEventType.CREATED, response.id(), response);
+        metrics.productsCreated(1);
+
         log.info("Product created with ID: {}", savedProduct.getId());
-        return mapper.mapToProductResponse(savedProduct);
+        return response;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<ProductResponse> getProducts(String name, BigDecimal price, String description, String sku, Pageable pageable) {
-        Specification<Product> specification = specifications.getSpecification(name, price, description, sku);
+    public Page<ProductResponse> getProducts(String name, BigDecimal price, String description, String sku, boolean rankByRelevance, Pageable pageable) {
+        boolean orderByRelevance = rankByRelevance && pageable.getSort().isUnsorted();
+        Specification<Product> specification = specifications.getSpecification(name, price, description, sku, orderByRelevance);
         return repository.findAll(specification, pageable).map(mapper::mapToProductResponse);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public ProductWindowResponse scrollProducts(String name, BigDecimal price, String description, String sku, Sort sort, int size, String cursor) {
+        ProductCursor current = cursor != null ? cursorCodec.decode(cursor) : initialCursor(sort);
+        if (!SCROLLABLE_PROPERTIES.contains(current.property())) {
+            throw new UnsupportedSortException(current.property());
+        }
+
+        Sort keysetSort = Sort.by(current.direction(), current.property());
+        if (!"id".equals(current.property())) {
+            keysetSort = keysetSort.and(Sort.by(current.direction(), "id"));
+        }
+        Sort finalSort = keysetSort;
+        ScrollPosition position = current.keys().isEmpty() ? ScrollPosition.keyset() : cursorCodec.toScrollPosition(current);
+
+        Specification<Product> specification = specifications.getSpecification(name, price, description, sku);
+        Window<Product> window = repository.findBy(specification, query -> query.sortBy(finalSort).limit(size).scroll(position));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            Map<String, String> lastKeys = cursorCodec.toCursorKeys(window.positionAt(window.size() - 1));
+            nextCursor = cursorCodec.encode(new ProductCursor(current.property(), current.direction(), lastKeys));
+        }
+
+        List<ProductResponse> content = window.getContent().stream()
+                .map(mapper::mapToProductResponse)
+                .toList();
+        return new ProductWindowResponse(content, content.size(), window.hasNext(), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProducts(String name, BigDecimal price, String description, String sku, Consumer<ProductResponse> consumer) {
+        Specification<Product> specification = specifications.getSpecification(name, price, description, sku);
+        try (Stream<ProductResponse> products = streamingRepository.streamAll(specification, exportProperties.fetchSize())) {
+            products.forEach(consumer);
+        }
+    }
+
+    // Not a read-only transaction on purpose: a cache miss filled from a lagging replica would serve the old row for the whole TTL
+    @Override
     public ProductResponse getProduct(Long id) {
-        return repository.findById(id)
+        ProductResponse response = cache.getById(id, key -> repository.findById(key)
                 .map(mapper::mapToProductResponse)
+                .orElse(null));
+
+        if (response == null) {
+            throw new ProductNotFoundException(id);
+        }
+        return response;
+    }
+
+    @Override
+    public Long getProductVersion(Long id) {
+        return cache.getIfPresent(id)
+                .map(ProductResponse::version)
+                .or(() -> repository.findVersionById(id))
                 .orElseThrow(() -> new ProductNotFoundException(id));
     }
 
+    @Override
+    public ProductBatchResponse getProductsBatch(ProductBatchRequest request) {
+        Set<Long> ids = request.ids() == null ? Set.of() : new LinkedHashSet<>(request.ids());
+        Set<String> skus = request.skus() == null ? Set.of() : new LinkedHashSet<>(request.skus());
+
+        Map<Long, ProductResponse> foundById = new HashMap<>();
+        Map<String, ProductResponse> foundBySku = new HashMap<>();
+        List<Long> uncachedIds = new ArrayList<>();
+        List<String> uncachedSkus = new ArrayList<>();
+
+        ids.forEach(id -> cache.getIfPresent(id).ifPresentOrElse(
+                response -> foundById.put(id, response),
+                () -> uncachedIds.add(id)
+        ));
+        skus.forEach(sku -> cache.getIfPresent(sku).ifPresentOrElse(
+                response -> foundBySku.put(sku, response),
+                () -> uncachedSkus.add(sku)
+        ));
+
+        if (!uncachedIds.isEmpty() || !uncachedSkus.isEmpty()) {
+            repository.findAllByIdOrSku(uncachedIds.toArray(Long[]::new), uncachedSkus.toArray(String[]::new))
+                    .stream()
+                    .map(mapper::mapToProductResponse)
+                    .forEach(response -> {
+                        foundById.putIfAbsent(response.id(), response);
+                        foundBySku.putIfAbsent(response.sku(), response);
+                    });
+        }
+
+        Map<Long, ProductResponse> products = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        List<String> missingSkus = new ArrayList<>();
+
+        ids.forEach(id -> Optional.ofNullable(foundById.get(id)).ifPresentOrElse(
+                response -> products.putIfAbsent(response.id(), response),
+                () -> missingIds.add(id)
+        ));
+        skus.forEach(sku -> Optional.ofNullable(foundBySku.get(sku)).ifPresentOrElse(
+                response -> products.putIfAbsent(response.id(), response),
+                () -> missingSkus.add(sku)
+        ));
+
+        return new ProductBatchResponse(List.copyOf(products.values()), missingIds, missingSkus);
+    }
+
     @Override
     @Transactional
-    public ProductResponse updateProduct(Long id, ProductRequest request) {
-        Product product = repository.findById(id).orElseThrow(
+    public ProductResponse updateProduct(Long id, ProductRequest request, Long expectedVersion) {
+        Product product = repository.findByIdForUpdate(id).orElseThrow(
                 () -> new ProductNotFoundException(id)
         );
 
+        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+            throw new PreconditionFailedException(id);
+        }
+
         if (repository.existsBySkuAndIdNot(request.sku(), id)) {
             throw new DuplicateSkuException(request.sku());
         }
 
+        Long previousVersion = product.getVersion();
         mapper.updateProductFromRequest(request, product);
-        Product updatedProduct = repository.save(product);
+        Product updatedProduct = repository.saveAndFlush(product);
+        cache.evict(id);
+
+        ProductResponse response = mapper.mapToProductResponse(updatedProduct);
+        if (!previousVersion.equals(response.version())) {
+            eventService.recordEvent(ProductEventType.UPDATED, id, response);
+        }
 
         log.info("Product {} was updated", id);
-        return mapper.mapToProductResponse(updatedProduct);
+        return response;
     }
 
     @Override
     @Transactional
     public void deleteProduct(Long id) {
-        repository.deleteById(id);
-        log.info("Product {} was deleted", id);
+        repository.findByIdForUpdate(id).ifPresent(product -> {
+            repository.delete(product);
+            cache.evict(id);
+            eventService.recordEvent(ProductEventType.DELETED, id, null);
+            log.info("Product {} was deleted", id);
+        });
+    }
+
+    private ProductCursor initialCursor(Sort sort) {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+        return new ProductCursor(order.getProperty(), order.getDirection(), Map.of());
     }
 }
\ No newline at end of file
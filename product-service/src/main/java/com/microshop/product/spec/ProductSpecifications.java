@@ -1,7 +1,10 @@
 package com.microshop.product.spec;
 
 import com.microshop.product.entity.Product;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
@@ -13,28 +16,47 @@ import java.util.Locale;
 @Component
 public class ProductSpecifications {
     public Specification<Product> getSpecification(String name, BigDecimal price, String description, String sku) {
+        return getSpecification(name, price, description, sku, false);
+    }
+
+    public Specification<Product> getSpecification(String name, BigDecimal price, String description, String sku, boolean orderByRelevance) {
         return (root, criteriaQuery, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
+            List<Expression<Double>> relevance = new ArrayList<>();
 
             if (name != null && !name.isBlank()) {
-                String escapedName = escapeLikePattern(name.toLowerCase(Locale.ROOT));
+                String lowerName = name.toLowerCase(Locale.ROOT);
+                String escapedName = escapeLikePattern(lowerName);
                 predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), "%" + escapedName + "%", '\\'));
+                relevance.add(similarity(criteriaBuilder, root, "name", lowerName));
             }
             if (price != null) {
                 predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("price"), price));
             }
             if (description != null && !description.isBlank()) {
-                String escapedDesc = escapeLikePattern(description.toLowerCase(Locale.ROOT));
+                String lowerDesc = description.toLowerCase(Locale.ROOT);
+                String escapedDesc = escapeLikePattern(lowerDesc);
                 predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), "%" + escapedDesc + "%", '\\'));
+                relevance.add(similarity(criteriaBuilder, root, "description", lowerDesc));
             }
             if (sku != null && !sku.isBlank()) {
                 predicates.add(criteriaBuilder.equal(root.get("sku"), sku));
             }
+
+            boolean isCountQuery = Long.class.equals(criteriaQuery.getResultType());
+            if (orderByRelevance && !relevance.isEmpty() && !isCountQuery) {
+                Expression<Double> score = relevance.stream().reduce(criteriaBuilder::sum).orElseThrow();
+                criteriaQuery.orderBy(criteriaBuilder.desc(score), criteriaBuilder.asc(root.get("id")));
+            }
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
 
-    private String escapeLikePattern(String input) {
+    private Expression<Double> similarity(CriteriaBuilder criteriaBuilder, Root<Product> root, String attribute, String term) {
+        return criteriaBuilder.function("similarity", Double.class, criteriaBuilder.lower(root.get(attribute)), criteriaBuilder.literal(term));
+    }
+
+    String escapeLikePattern(String input) {
         if (input == null) return null;
         return input.replace("\\", "\\\\")
                 .replace("%", "\\%")
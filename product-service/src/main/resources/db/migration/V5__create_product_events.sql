@@ -0,0 +1,9 @@
+CREATE TABLE product_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    payload JSONB,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_product_events_created_at ON product_events (created_at);
\ No newline at end of file
@@ -0,0 +1,25 @@
+-- Stock of a product is split over several buckets, so concurrent reservations of one SKU lock different rows
+CREATE TABLE stock_buckets (
+    product_id BIGINT NOT NULL REFERENCES products (id) ON DELETE CASCADE,
+    bucket SMALLINT NOT NULL,
+    available INTEGER NOT NULL CHECK (available >= 0),
+    PRIMARY KEY (product_id, bucket)
+);
+
+CREATE TABLE stock_reservations (
+    reservation_id VARCHAR(64) PRIMARY KEY,
+    status VARCHAR(16) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+-- Each line remembers the bucket its units came from, so a release returns them to the same row
+CREATE TABLE stock_reservation_lines (
+    reservation_id VARCHAR(64) NOT NULL REFERENCES stock_reservations (reservation_id) ON DELETE CASCADE,
+    product_id BIGINT NOT NULL,
+    bucket SMALLINT NOT NULL,
+    quantity INTEGER NOT NULL CHECK (quantity > 0),
+    PRIMARY KEY (reservation_id, product_id, bucket)
+);
+
+CREATE INDEX idx_stock_reservation_lines_product ON stock_reservation_lines (product_id);
\ No newline at end of file
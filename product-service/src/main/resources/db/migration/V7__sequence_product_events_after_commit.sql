@@ -0,0 +1,12 @@
+-- Events are numbered by a relay once their transaction has committed, so readers following the sequence never pass an
+-- event that commits after a later-numbered one. Writers no longer take a lock to keep ids in commit order.
+CREATE SEQUENCE product_event_sequence;
+
+ALTER TABLE product_events ADD COLUMN sequence BIGINT;
+
+-- Events written so far were appended under that lock, so their ids are already in commit order and stay valid cursors
+UPDATE product_events SET sequence = id;
+SELECT setval('product_event_sequence', coalesce(max(id), 0) + 1, false) FROM product_events;
+
+CREATE UNIQUE INDEX idx_product_events_sequence ON product_events (sequence);
+CREATE INDEX idx_product_events_unsequenced ON product_events (id) WHERE sequence IS NULL;
\ No newline at end of file
@@ -9,7 +9,8 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 @Testcontainers
 @AutoConfigureMockMvc
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// Statement budgets from application.yml fail the request instead of only logging, so a query regression fails its test
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "microshop.sql-budget.action=fail")
 public abstract class AbstractIntegrationTest {
     @Container
     @ServiceConnection
@@ -0,0 +1,173 @@
+package com.microshop.product;
+
+import com.microshop.product.dto.StockReservationItem;
+import com.microshop.product.dto.StockReservationRequest;
+import com.microshop.product.dto.StockReservationResponse;
+import com.microshop.product.entity.Product;
+import com.microshop.product.entity.StockReservationStatus;
+import com.microshop.product.exception.InsufficientStockException;
+import com.microshop.product.repository.InventoryJdbcRepository;
+import com.microshop.product.repository.ProductRepository;
+import com.microshop.product.service.InventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventoryConcurrencyIT extends AbstractIntegrationTest {
+    private static final int THREADS = 64;
+    private static final int CHECKOUTS = 2_000;
+    private static final int STOCK = 1_500;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryJdbcRepository inventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM stock_reservations");
+        productRepository.deleteAll();
+        productId = productRepository.save(Product.builder()
+                .name("Flash sale console")
+                .price(new BigDecimal("499.99"))
+                .sku("FLASH-" + UUID.randomUUID())
+                .build()).getId();
+    }
+
+    @Test
+    void shouldNeverOversellHotSkuUnderConcurrentCheckouts() throws Exception {
+        inventoryService.setStock(productId, STOCK);
+
+        StressResult result = checkout(1, 0);
+
+        assertThat(result.reserved()).isEqualTo(STOCK);
+        assertThat(result.rejected()).isEqualTo(CHECKOUTS - STOCK);
+        assertThat(result.failures()).isEmpty();
+        assertThat(inventoryService.getStock(productId).available()).isZero();
+        assertThat(inventoryService.getStock(productId).reserved()).isEqualTo(STOCK);
+        report("striped", result);
+    }
+
+    @Test
+    void shouldConserveStockWhenMultiUnitReservationsAreReleasedConcurrently() throws Exception {
+        inventoryService.setStock(productId, STOCK);
+
+        StressResult result = checkout(3, 4);
+
+        long reservedUnits = jdbcTemplate.queryForObject("""
+                SELECT coalesce(sum(l.quantity), 0)
+                FROM stock_reservation_lines l
+                JOIN stock_reservations r ON r.reservation_id = l.reservation_id
+                WHERE r.status = 'RESERVED'
+                """, Long.class);
+        assertThat(result.failures()).isEmpty();
+        assertThat(inventoryService.getStock(productId).available() + reservedUnits).isEqualTo(STOCK);
+        assertThat(jdbcTemplate.queryForObject("SELECT min(available) FROM stock_buckets WHERE product_id = ?", Integer.class, productId))
+                .isGreaterThanOrEqualTo(0);
+        report("striped, 1-3 units, 25% released", result);
+    }
+
+    @Test
+    void shouldNeverOversellWithSingleStockRow() throws Exception {
+        // Baseline for the throughput report: every checkout queues on the same row
+        inventoryRepository.setStock(productId, STOCK, 1);
+
+        StressResult result = checkout(1, 0);
+
+        assertThat(result.reserved()).isEqualTo(STOCK);
+        assertThat(result.failures()).isEmpty();
+        assertThat(inventoryService.getStock(productId).available()).isZero();
+        report("single row", result);
+    }
+
+    @Test
+    void shouldReserveStockAgainUnderReleasedReservationId() {
+        inventoryService.setStock(productId, 10);
+        StockReservationRequest request = new StockReservationRequest("order-1", List.of(new StockReservationItem(productId, 4)));
+
+        assertThat(inventoryService.reserve(request).created()).isTrue();
+        assertThat(inventoryService.reserve(request).created()).isFalse();
+        inventoryService.release(List.of("order-1"));
+        assertThat(inventoryService.getStock(productId).available()).isEqualTo(10);
+
+        StockReservationResponse retried = inventoryService.reserve(request);
+
+        assertThat(retried.created()).isTrue();
+        assertThat(retried.status()).isEqualTo(StockReservationStatus.RESERVED);
+        assertThat(inventoryService.getStock(productId).available()).isEqualTo(6);
+        assertThat(inventoryService.getStock(productId).reserved()).isEqualTo(4);
+        // A second release must hand back only the units of the retry, not those already returned by the first
+        inventoryService.release(List.of("order-1"));
+        assertThat(inventoryService.getStock(productId).available()).isEqualTo(10);
+    }
+
+    private StressResult checkout(int maxQuantity, int releaseEvery) throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> checkouts = new ArrayList<>();
+        long startedAt;
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < CHECKOUTS; i++) {
+                boolean release = releaseEvery > 0 && i % releaseEvery == 0;
+                checkouts.add(executor.submit(() -> {
+                    start.await();
+                    String reservationId = UUID.randomUUID().toString();
+                    int quantity = ThreadLocalRandom.current().nextInt(1, maxQuantity + 1);
+                    try {
+                        inventoryService.reserve(new StockReservationRequest(reservationId, List.of(new StockReservationItem(productId, quantity))));
+                        reserved.incrementAndGet();
+                        if (release) {
+                            inventoryService.release(List.of(reservationId));
+                        }
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failures.add(e);
+                    }
+                    return null;
+                }));
+            }
+            startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> checkout : checkouts) {
+                checkout.get();
+            }
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        return new StressResult(reserved.get(), rejected.get(), List.copyOf(failures), CHECKOUTS / seconds);
+    }
+
+    private void report(String scenario, StressResult result) {
+        System.out.printf("Inventory stress (%s): %d checkouts on %d threads, %d reserved, %d rejected, %.0f checkouts/s%n",
+                scenario, CHECKOUTS, THREADS, result.reserved(), result.rejected(), result.throughput());
+    }
+
+    private record StressResult(int reserved, int rejected, List<Throwable> failures, double throughput) {}
+}
\ No newline at end of file
@@ -1,20 +1,29 @@
 package com.microshop.product;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microshop.product.cache.ProductCache;
+import com.microshop.product.dto.ProductBatchRequest;
 import com.microshop.product.dto.ProductRequest;
 import com.microshop.product.entity.Product;
+import com.microshop.product.event.ProductEventStream;
 import com.microshop.product.repository.ProductRepository;
+import com.microshop.product.service.ProductEventService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.util.List;
 
+import static com.microshop.product.SqlStatements.countDuring;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -28,9 +37,19 @@ class ProductControllerIT extends AbstractIntegrationTest {
     @Autowired
     private ProductRepository repository;
 
+    @Autowired
+    private ProductCache cache;
+
+    @Autowired
+    private ProductEventService eventService;
+
+    @Autowired
+    private ProductEventStream eventStream;
+
     @BeforeEach
     void setUp() {
         repository.deleteAll();
+        cache.invalidateAll();
     }
 
     @Test
@@ -179,6 +198,33 @@ class ProductControllerIT extends AbstractIntegrationTest {
                 .andExpect(jsonPath("$.page.number").value(0));
     }
 
+    @Test
+    void shouldRunExpectedNumberOfStatementsPerRequest() throws Exception {
+        ProductRequest request = new ProductRequest("Steam Deck", "Handheld PC", new BigDecimal("419.00"), "VALVE-SD-001");
+
+        // SKU check, product insert and its CREATED event
+        long createStatements = countDuring(() -> mockMvc.perform(post("/api/v1/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated()));
+        Long id = repository.findAll().getFirst().getId();
+
+        long firstRead = countDuring(() -> mockMvc.perform(get("/api/v1/products/{id}", id)).andExpect(status().isOk()));
+        long cachedRead = countDuring(() -> mockMvc.perform(get("/api/v1/products/{id}", id)).andExpect(status().isOk()));
+        long batchRead = countDuring(() -> mockMvc.perform(post("/api/v1/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductBatchRequest(List.of(id, 404L), List.of()))))
+                .andExpect(status().isOk()));
+        long pageRead = countDuring(() -> mockMvc.perform(get("/api/v1/products").param("size", "10")).andExpect(status().isOk()));
+
+        assertThat(createStatements).isEqualTo(3);
+        assertThat(firstRead).isEqualTo(1);
+        assertThat(cachedRead).isZero();
+        assertThat(batchRead).isEqualTo(1);
+        // A page shorter than its size needs no count query
+        assertThat(pageRead).isEqualTo(1);
+    }
+
     @Test
     void shouldUpdateProductSuccessfully() throws Exception {
         ProductRequest createReq = new ProductRequest("Old Mouse", "Old model", new BigDecimal("25.00"), "MOUSE-001");
@@ -243,4 +289,340 @@ class ProductControllerIT extends AbstractIntegrationTest {
 
         assertThat(repository.findById(idToDelete.longValue())).isEmpty();
     }
+
+    @Test
+    void shouldServeFreshProductFromCacheAfterUpdateAndDelete() throws Exception {
+        ProductRequest createReq = new ProductRequest("Cached Lamp", "Desk lamp", new BigDecimal("30.00"), "LAMP-001");
+        String createRes = mockMvc.perform(post("/api/v1/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createReq)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        Integer savedId = com.jayway.jsonpath.JsonPath.read(createRes, "$.id");
+
+        mockMvc.perform(get("/api/v1/products/{id}", savedId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Cached Lamp"));
+
+        assertThat(cache.getIfPresent(savedId.longValue())).isPresent();
+        assertThat(cache.getIfPresent("LAMP-001")).isPresent();
+
+        ProductRequest updateReq = new ProductRequest("Cached Lamp XL", "Floor lamp", new BigDecimal("55.00"), "LAMP-002");
+        mockMvc.perform(put("/api/v1/products/{id}", savedId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateReq)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/products/{id}", savedId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Cached Lamp XL"))
+                .andExpect(jsonPath("$.sku").value("LAMP-002"));
+
+        assertThat(cache.getIfPresent("LAMP-001")).isEmpty();
+
+        mockMvc.perform(delete("/api/v1/products/{id}", savedId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/products/{id}", savedId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldGetProductsInBatchAndReportMissingOnes() throws Exception {
+        ProductRequest p1 = new ProductRequest("Cable", "USB-C cable", new BigDecimal("9.99"), "CBL-001");
+        ProductRequest p2 = new ProductRequest("Charger", "65W charger", new BigDecimal("39.99"), "CHG-001");
+
+        String res1 = mockMvc.perform(post("/api/v1/products").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(p1)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(post("/api/v1/products").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(p2)))
+                .andExpect(status().isCreated());
+
+        Integer cableId = com.jayway.jsonpath.JsonPath.read(res1, "$.id");
+        ProductBatchRequest batchRequest = new ProductBatchRequest(
+                List.of(cableId.longValue(), 999_999L),
+                List.of("CHG-001", "UNKNOWN-SKU")
+        );
+
+        mockMvc.perform(post("/api/v1/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.length()").value(2))
+                .andExpect(jsonPath("$.products[0].sku").value("CBL-001"))
+                .andExpect(jsonPath("$.products[1].sku").value("CHG-001"))
+                .andExpect(jsonPath("$.missingIds[0]").value(999_999))
+                .andExpect(jsonPath("$.missingSkus[0]").value("UNKNOWN-SKU"));
+    }
+
+    @Test
+    void shouldScrollProductsWithCursorTieBreakingOnId() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            ProductRequest request = new ProductRequest("Headphones " + i, "Audio", new BigDecimal(i % 2 == 0 ? "100.00" : "200.00"), "HP-00" + i);
+            mockMvc.perform(post("/api/v1/products").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        String firstPage = mockMvc.perform(get("/api/v1/products/scroll")
+                        .param("name", "headphones")
+                        .param("size", "3")
+                        .param("sort", "price,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[0].sku").value("HP-005"))
+                .andExpect(jsonPath("$.content[1].sku").value("HP-003"))
+                .andExpect(jsonPath("$.content[2].sku").value("HP-001"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = com.jayway.jsonpath.JsonPath.read(firstPage, "$.nextCursor");
+
+        mockMvc.perform(get("/api/v1/products/scroll")
+                        .param("name", "headphones")
+                        .param("size", "3")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].sku").value("HP-004"))
+                .andExpect(jsonPath("$.content[1].sku").value("HP-002"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldReturn400BadRequestWhenCursorIsMalformed() throws Exception {
+        mockMvc.perform(get("/api/v1/products/scroll").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cursor is malformed or was issued for a different query"));
+    }
+
+    @Test
+    void shouldOrderSearchResultsByRelevanceWhenRequested() throws Exception {
+        ProductRequest p1 = new ProductRequest("Smart Desk Lamp Deluxe Edition", "Lighting", new BigDecimal("80.00"), "LMP-DLX");
+        ProductRequest p2 = new ProductRequest("Lamp", "Lighting", new BigDecimal("20.00"), "LMP-STD");
+
+        mockMvc.perform(post("/api/v1/products").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(p1)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/v1/products").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(p2)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("name", "lamp")
+                        .param("rankByRelevance", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].sku").value("LMP-STD"))
+                .andExpect(jsonPath("$.content[1].sku").value("LMP-DLX"))
+                .andExpect(jsonPath("$.page.totalElements").value(2));
+    }
+
+    @Test
+    void shouldImportNdjsonFeedAndReportEveryRow() throws Exception {
+        ProductRequest existing = new ProductRequest("Existing Mouse", "Already in catalog", new BigDecimal("15.00"), "IMP-EXISTING");
+        mockMvc.perform(post("/api/v1/products").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(existing)))
+                .andExpect(status().isCreated());
+
+        String feed = String.join("\n",
+                objectMapper.writeValueAsString(new ProductRequest("Imported Mouse", "Wireless", new BigDecimal("19.99"), "IMP-001")),
+                "{not json",
+                objectMapper.writeValueAsString(new ProductRequest("", "No name", new BigDecimal("5.00"), "IMP-002")),
+                objectMapper.writeValueAsString(new ProductRequest("Duplicate In Feed", "Same SKU", new BigDecimal("21.00"), "IMP-001")),
+                objectMapper.writeValueAsString(new ProductRequest("Existing Again", "Clashes with catalog", new BigDecimal("16.00"), "IMP-EXISTING")),
+                objectMapper.writeValueAsString(new ProductRequest("Imported Pad", "Mouse pad", new BigDecimal("7.50"), "IMP-003")),
+                "null"
+        );
+
+        String report = mockMvc.perform(post("/api/v1/products/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(feed))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = report.lines().toList();
+        assertThat(lines).hasSize(7);
+        assertThat(lines.get(0)).contains("\"line\":1", "\"status\":\"CREATED\"", "IMP-001");
+        assertThat(lines.get(1)).contains("\"line\":2", "\"status\":\"INVALID\"");
+        assertThat(lines.get(2)).contains("\"line\":3", "\"status\":\"INVALID\"", "name: Product name is required");
+        assertThat(lines.get(3)).contains("\"line\":4", "\"status\":\"DUPLICATE_SKU\"");
+        assertThat(lines.get(4)).contains("\"line\":5", "\"status\":\"DUPLICATE_SKU\"");
+        assertThat(lines.get(5)).contains("\"line\":6", "\"status\":\"CREATED\"", "IMP-003");
+        assertThat(lines.get(6)).contains("\"line\":7", "\"status\":\"INVALID\"");
+
+        assertThat(repository.findAll()).extracting(Product::getSku)
+                .containsExactlyInAnyOrder("IMP-EXISTING", "IMP-001", "IMP-003");
+    }
+
+    @Test
+    void shouldBulkUpdatePricesBySkuAndReportUnknownSkus() throws Exception {
+        Product keyboard = repository.save(Product.builder().name("Keyboard").price(new BigDecimal("49.00")).sku("PRC-001").build());
+        Product mouse = repository.save(Product.builder().name("Mouse").price(new BigDecimal("19.00")).sku("PRC-002").build());
+        Product cable = repository.save(Product.builder().name("Cable").price(new BigDecimal("5.00")).sku("PRC-003").build());
+
+        mockMvc.perform(get("/api/v1/products/{id}", mouse.getId())).andExpect(jsonPath("$.price").value(19.00));
+
+        String feed = String.join("\n",
+                "{\"sku\":\"PRC-001\",\"price\":55.00}",
+                "{\"sku\":\"PRC-002\",\"price\":20.00}",
+                "{\"sku\":\"PRC-002\",\"price\":21.00}",
+                "{\"sku\":\"PRC-003\",\"price\":5.00}",
+                "{\"sku\":\"PRC-404\",\"price\":9.00}",
+                "{\"sku\":\"PRC-001\",\"price\":-1}"
+        );
+
+        mockMvc.perform(post("/api/v1/products/prices")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(feed))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.unchanged").value(1))
+                .andExpect(jsonPath("$.unknownSkus[0]").value("PRC-404"))
+                .andExpect(jsonPath("$.invalidLines[0].line").value(6));
+
+        mockMvc.perform(get("/api/v1/products/{id}", mouse.getId()))
+                .andExpect(jsonPath("$.price").value(21.00))
+                .andExpect(jsonPath("$.version").value(1));
+
+        assertThat(repository.findById(keyboard.getId()).orElseThrow().getPrice()).isEqualByComparingTo("55.00");
+        assertThat(repository.findById(cable.getId()).orElseThrow().getVersion()).isZero();
+    }
+
+    @Test
+    void shouldExportFilteredProductsAsCsv() throws Exception {
+        ProductRequest p1 = new ProductRequest("Tablet, 10 inch", "Has \"retina\" screen", new BigDecimal("349.00"), "TAB-010");
+        ProductRequest p2 = new ProductRequest("Tablet Mini", null, new BigDecimal("249.00"), "TAB-008");
+        ProductRequest p3 = new ProductRequest("Laptop", "Not a tablet", new BigDecimal("999.00"), "LAP-001");
+
+        for (ProductRequest request : List.of(p1, p2, p3)) {
+            mockMvc.perform(post("/api/v1/products").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        String csv = mockMvc.perform(get("/api/v1/products/export")
+                        .param("name", "tablet")
+                        .param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = csv.lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).isEqualTo("id,name,description,price,sku,version");
+        assertThat(lines.get(1)).endsWith(",\"Tablet, 10 inch\",\"Has \"\"retina\"\" screen\",349.00,TAB-010,0");
+        assertThat(lines.get(2)).endsWith(",Tablet Mini,,249.00,TAB-008,0");
+    }
+
+    @Test
+    void shouldHonorConditionalRequestsWithVersionETags() throws Exception {
+        ProductRequest createReq = new ProductRequest("Webcam", "1080p", new BigDecimal("59.00"), "CAM-001");
+        String createRes = mockMvc.perform(post("/api/v1/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createReq)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andReturn().getResponse().getContentAsString();
+
+        Integer savedId = com.jayway.jsonpath.JsonPath.read(createRes, "$.id");
+
+        mockMvc.perform(get("/api/v1/products/{id}", savedId).header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified());
+
+        ProductRequest updateReq = new ProductRequest("Webcam 4K", "2160p", new BigDecimal("129.00"), "CAM-001");
+        mockMvc.perform(put("/api/v1/products/{id}", savedId)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateReq)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+
+        mockMvc.perform(put("/api/v1/products/{id}", savedId)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createReq)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+
+        mockMvc.perform(get("/api/v1/products/{id}", savedId).header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.name").value("Webcam 4K"));
+
+        String listingETag = mockMvc.perform(get("/api/v1/products"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/products").header("If-None-Match", listingETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shouldRecordChangeEventsInCommitOrderAndResumeFromSequence() throws Exception {
+        eventService.sequenceEvents();
+        long start = eventService.getLatestSequence();
+
+        ProductRequest createReq = new ProductRequest("Router", "Wi-Fi 6", new BigDecimal("89.00"), "RTR-001");
+        String createRes = mockMvc.perform(post("/api/v1/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createReq)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        Integer savedId = com.jayway.jsonpath.JsonPath.read(createRes, "$.id");
+
+        ProductRequest updateReq = new ProductRequest("Router Pro", "Wi-Fi 7", new BigDecimal("149.00"), "RTR-001");
+        mockMvc.perform(put("/api/v1/products/{id}", savedId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateReq)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/v1/products/{id}", savedId))
+                .andExpect(status().isNoContent());
+
+        eventService.sequenceEvents();
+
+        String events = mockMvc.perform(get("/api/v1/products/events").param("after", String.valueOf(start)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].type").value("CREATED"))
+                .andExpect(jsonPath("$[0].productId").value(savedId))
+                .andExpect(jsonPath("$[0].payload.sku").value("RTR-001"))
+                .andExpect(jsonPath("$[1].type").value("UPDATED"))
+                .andExpect(jsonPath("$[1].payload.name").value("Router Pro"))
+                .andExpect(jsonPath("$[1].payload.version").value(1))
+                .andExpect(jsonPath("$[2].type").value("DELETED"))
+                .andReturn().getResponse().getContentAsString();
+
+        Integer firstSequence = com.jayway.jsonpath.JsonPath.read(events, "$[0].sequence");
+
+        mockMvc.perform(get("/api/v1/products/events").param("after", String.valueOf(firstSequence)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].type").value("UPDATED"));
+    }
+
+    @Test
+    void shouldStreamChangeEventsAfterLastEventId() throws Exception {
+        eventService.sequenceEvents();
+        long start = eventService.getLatestSequence();
+
+        MvcResult stream = mockMvc.perform(get("/api/v1/products/events/stream")
+                        .header("Last-Event-ID", String.valueOf(start))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ProductRequest createReq = new ProductRequest("Switch", "8 ports", new BigDecimal("39.00"), "SWT-001");
+        mockMvc.perform(post("/api/v1/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createReq)))
+                .andExpect(status().isCreated());
+
+        eventService.sequenceEvents();
+        eventStream.dispatch();
+
+        String body = stream.getResponse().getContentAsString();
+        assertThat(body).contains("event:CREATED");
+        assertThat(body).contains("SWT-001");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.microshop.product;
+
+import com.microshop.product.dto.ProductRequest;
+import com.microshop.product.entity.Product;
+import com.microshop.product.repository.ProductRepository;
+import com.microshop.product.service.ProductEventService;
+import com.microshop.product.service.ProductImportService;
+import com.microshop.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductWriteConcurrencyIT extends AbstractIntegrationTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 200;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductEventService eventService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        product = productRepository.save(Product.builder()
+                .name("Contended keyboard")
+                .price(new BigDecimal("10.00"))
+                .sku("LOCK-" + UUID.randomUUID())
+                .build());
+    }
+
+    @Test
+    void shouldNotDeadlockWhenSingleUpdatesAndBulkPriceUpdatesHitSameSku() throws Exception {
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> writes = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < ROUNDS; i++) {
+                BigDecimal price = new BigDecimal(100 + i + ".00");
+                boolean bulk = i % 2 == 0;
+                writes.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        if (bulk) {
+                            String feed = "{\"sku\":\"" + product.getSku() + "\",\"price\":" + price + "}";
+                            importService.updatePrices(new ByteArrayInputStream(feed.getBytes(StandardCharsets.UTF_8)));
+                        } else {
+                            productService.updateProduct(product.getId(), new ProductRequest(product.getName(), null, price, product.getSku()), null);
+                        }
+                    } catch (RuntimeException e) {
+                        failures.add(e);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        }
+
+        assertThat(failures).isEmpty();
+        // Each writer appends its event while holding the row, and events are numbered in id order once committed,
+        // so the last one a reader sees describes the row as it ended up
+        eventService.sequenceEvents();
+        BigDecimal finalPrice = productRepository.findById(product.getId()).orElseThrow().getPrice();
+        BigDecimal lastEventPrice = jdbcTemplate.queryForObject(
+                "SELECT (payload ->> 'price')::numeric FROM product_events WHERE product_id = ? ORDER BY sequence DESC LIMIT 1",
+                BigDecimal.class, product.getId());
+        assertThat(lastEventPrice).isEqualByComparingTo(finalPrice);
+    }
+}
\ No newline at end of file
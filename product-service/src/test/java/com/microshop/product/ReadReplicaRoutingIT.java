@@ -0,0 +1,209 @@
+package com.microshop.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microshop.product.dto.ProductRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A primary and a hot standby streaming from it, set up by the same scripts docker-compose.yml uses
+@Testcontainers
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "microshop.sql-budget.action=fail",
+        "microshop.read-replicas.health-check-interval=200ms",
+        "microshop.read-replicas.max-lag=500ms"
+})
+class ReadReplicaRoutingIT {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Network NETWORK = Network.newNetwork();
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:18-alpine")
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withEnv("REPLICATION_USER", "replicator")
+            .withEnv("REPLICATION_PASSWORD", "replicator")
+            .withCopyFileToContainer(MountableFile.forHostPath("../docker/postgres/primary-replication.sh"),
+                    "/docker-entrypoint-initdb.d/primary-replication.sh")
+            .withCommand("postgres", "-c", "wal_keep_size=256MB");
+
+    @Container
+    static GenericContainer<?> replica = new GenericContainer<>("postgres:18-alpine")
+            .withNetwork(NETWORK)
+            .withEnv("PRIMARY_HOST", "primary")
+            .withEnv("REPLICATION_USER", "replicator")
+            .withEnv("REPLICATION_PASSWORD", "replicator")
+            .withCopyFileToContainer(MountableFile.forHostPath("../docker/postgres/replica-entrypoint.sh", 0755), "/replica-entrypoint.sh")
+            .withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres").withEntrypoint("/replica-entrypoint.sh"))
+            .withExposedPorts(5432)
+            .dependsOn(primary)
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1).withStartupTimeout(Duration.ofMinutes(2)));
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("microshop.read-replicas.replicas[0].url", ReadReplicaRoutingIT::replicaUrl);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        awaitHealthyReplicas(1);
+    }
+
+    @Test
+    void shouldServeReadOnlyTransactionsFromReplica() {
+        assertThat(inRecovery(true)).isTrue();
+        assertThat(inRecovery(false)).isFalse();
+    }
+
+    @Test
+    void shouldKeepReadsOfRecentWriterOnPrimary() throws Exception {
+        String sku = "RYW-" + UUID.randomUUID();
+        double sticky = routed("read-your-writes");
+        double replicaReads = routed("read-only");
+
+        mockMvc.perform(post("/api/v1/products")
+                        .header("X-Customer-Id", "writer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductRequest("Replica lamp", "Read your writes", new BigDecimal("19.99"), sku))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/v1/products").param("sku", sku).header("X-Customer-Id", "writer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].sku").value(sku));
+        assertThat(routed("read-your-writes")).isEqualTo(sticky + 1);
+
+        mockMvc.perform(get("/api/v1/products").param("sku", sku).header("X-Customer-Id", "reader"))
+                .andExpect(status().isOk());
+        assertThat(routed("read-only")).isEqualTo(replicaReads + 1);
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhileReplicaLags() throws Exception {
+        executeOnReplica("SELECT pg_wal_replay_pause()");
+        try {
+            jdbcTemplate.update("CREATE TABLE replica_lag_probe (id INT)");
+            jdbcTemplate.update("DROP TABLE replica_lag_probe");
+            awaitHealthyReplicas(0);
+
+            double fallbacks = routed("no-healthy-replica");
+            assertThat(inRecovery(true)).isFalse();
+            assertThat(routed("no-healthy-replica")).isEqualTo(fallbacks + 1);
+        } finally {
+            executeOnReplica("SELECT pg_wal_replay_resume()");
+        }
+
+        awaitHealthyReplicas(1);
+        assertThat(inRecovery(true)).isTrue();
+    }
+
+    // With the receiver gone nothing new arrives, so the replica's received and replayed positions stay equal
+    @Test
+    void shouldFallBackToPrimaryWhileReplicaIsNotStreaming() throws Exception {
+        String primaryConninfo = queryReplica("SHOW primary_conninfo");
+        executeOnReplica("ALTER SYSTEM SET primary_conninfo = 'host=unreachable port=1'");
+        executeOnReplica("SELECT pg_reload_conf()");
+        try {
+            awaitHealthyReplicas(0);
+            assertThat(inRecovery(true)).isFalse();
+        } finally {
+            executeOnReplica("ALTER SYSTEM SET primary_conninfo = '" + primaryConninfo.replace("'", "''") + "'");
+            executeOnReplica("SELECT pg_reload_conf()");
+        }
+
+        awaitHealthyReplicas(1);
+        assertThat(inRecovery(true)).isTrue();
+    }
+
+    private Boolean inRecovery(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+    }
+
+    private double routed(String reason) {
+        return meterRegistry.get("datasource.connections.routed").tag("reason", reason).counter().count();
+    }
+
+    private void awaitHealthyReplicas(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (meterRegistry.get("datasource.replicas.healthy").gauge().value() != expected) {
+            if (System.nanoTime() > deadline) {
+                fail("Expected %d healthy replicas within %s", expected, TIMEOUT);
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private void executeOnReplica(String sql) throws SQLException {
+        try (Connection connection = replicaConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private String queryReplica(String sql) throws SQLException {
+        try (Connection connection = replicaConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private static Connection replicaConnection() throws SQLException {
+        return DriverManager.getConnection(replicaUrl(), primary.getUsername(), primary.getPassword());
+    }
+
+    private static String replicaUrl() {
+        return "jdbc:postgresql://%s:%d/%s".formatted(replica.getHost(), replica.getMappedPort(5432), primary.getDatabaseName());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.microshop.product;
+
+import com.microshop.common.monitoring.SqlStatementRecorder;
+
+public final class SqlStatements {
+    private SqlStatements() {
+    }
+
+    // MockMvc handles the request on the calling thread, so that thread's running total covers all of its statements
+    public static long countDuring(Action action) throws Exception {
+        long before = SqlStatementRecorder.statements();
+        action.run();
+        return SqlStatementRecorder.statements() - before;
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
\ No newline at end of file